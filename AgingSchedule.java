@@ -0,0 +1,158 @@
+/**
+ * AgingSchedule is a FIFO of (slot, stamp) pairs kept in non-decreasing
+ * stamp order, used by the lazy aging queues to find the Processes whose
+ * waiting time reaches timeToIncrementPriority on a given update. A stamp
+ * is the epoch at which a Process's waiting time was last zero, so the
+ * entries due for promotion are always at the front.
+ *
+ * Entries are never removed when a Process leaves its queue. The owning
+ * queue instead checks each polled entry against the slot's current stamp
+ * and skips the ones that no longer match.
+ *
+ * @author Peyton Lundquist
+ * @date 10/17/2026
+ */
+public class AgingSchedule {
+	private static final int ARRAYSIZE = 16;
+
+	private int[] slots;
+	private long[] stamps;
+	private int head;   // Index of the first entry
+	private int size;   // Number of entries
+
+	/**
+	 * Constructor
+	 */
+	public AgingSchedule() {
+		slots = new int[ARRAYSIZE];
+		stamps = new long[ARRAYSIZE];
+		head = 0;
+		size = 0;
+	}
+
+	/**
+	 * Adds an entry, keeping the schedule in stamp order. Stamps are
+	 * normally the current epoch, so this is an append; an older stamp
+	 * walks back from the tail to its place.
+	 * @param slot Slot id of the Process
+	 * @param stamp Epoch at which the Process's waiting time was zero
+	 */
+	public void add(int slot, long stamp) {
+		if(size == slots.length) {
+			grow();
+		}
+		int mask = slots.length - 1;
+		int i = size;
+		while(i > 0 && stamps[(head + i - 1) & mask] > stamp) { // Shift newer entries back
+			slots[(head + i) & mask] = slots[(head + i - 1) & mask];
+			stamps[(head + i) & mask] = stamps[(head + i - 1) & mask];
+			i--;
+		}
+		slots[(head + i) & mask] = slot;
+		stamps[(head + i) & mask] = stamp;
+		size++;
+	}
+
+	/**
+	 * Moves the entries of another schedule into this one in a single merge
+	 * of the two, in time linear in both, leaving the other empty. Each of
+	 * the other's stamps is shifted by offset and each of its slots mapped
+	 * through slotMap; entries mapped to a negative slot are dropped.
+	 * @param other Schedule to meld in
+	 * @param slotMap Slot id in this schedule's queue of each of the other's slot ids
+	 * @param offset Difference between the two queues' epochs
+	 */
+	public void meld(AgingSchedule other, int[] slotMap, long offset) {
+		int capacity = slots.length;
+		while(capacity < size + other.size) {
+			capacity *= 2;
+		}
+		int[] tempSlots = new int[capacity];
+		long[] tempStamps = new long[capacity];
+		int mask = slots.length - 1;
+		int otherMask = other.slots.length - 1;
+		int i = 0;
+		int j = 0;
+		int n = 0;
+		while(i < size || j < other.size) {
+			int otherSlot = (j < other.size) ? slotMap[other.slots[(other.head + j) & otherMask]] : -1;
+			if(j < other.size && otherSlot < 0) { // Stale, its Process gone
+				j++;
+				continue;
+			}
+			long otherStamp = (j < other.size) ? other.stamps[(other.head + j) & otherMask] + offset : 0;
+			if(j == other.size || (i < size && stamps[(head + i) & mask] <= otherStamp)) {
+				tempSlots[n] = slots[(head + i) & mask];
+				tempStamps[n++] = stamps[(head + i) & mask];
+				i++;
+			}else {
+				tempSlots[n] = otherSlot;
+				tempStamps[n++] = otherStamp;
+				j++;
+			}
+		}
+		slots = tempSlots;
+		stamps = tempStamps;
+		head = 0;
+		size = n;
+		other.head = 0;
+		other.size = 0;
+	}
+
+	/**
+	 * Empty schedule checker
+	 * @return Boolean for if the schedule is empty
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Returns the slot id of the first entry.
+	 * @return Slot id of the oldest stamp
+	 */
+	public int peekSlot() {
+		return slots[head];
+	}
+
+	/**
+	 * Returns the stamp of the first entry.
+	 * @return The oldest stamp in the schedule
+	 */
+	public long peekStamp() {
+		return stamps[head];
+	}
+
+	/**
+	 * Removes the first entry.
+	 */
+	public void poll() {
+		head = (head + 1) & (slots.length - 1);
+		size--;
+	}
+
+	/**
+	 * Returns the number of entries, including stale ones.
+	 * @return Number of entries in the schedule
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Doubles the ring buffer, unwrapping it to start at index 0.
+	 */
+	private void grow() {
+		int newSize = slots.length * 2;
+		int[] tempSlots = new int[newSize];
+		long[] tempStamps = new long[newSize];
+		int first = slots.length - head;  // Entries from head to the end of the array
+		System.arraycopy(slots, head, tempSlots, 0, first);
+		System.arraycopy(slots, 0, tempSlots, first, head);
+		System.arraycopy(stamps, head, tempStamps, 0, first);
+		System.arraycopy(stamps, 0, tempStamps, first, head);
+		slots = tempSlots;
+		stamps = tempStamps;
+		head = 0;
+	}
+}
@@ -0,0 +1,115 @@
+import java.lang.management.ManagementFactory;
+
+/**
+ * Checks that the simulation loop allocates nothing in the steady state
+ * when finished Processes are recycled with --pool on.
+ *
+ * Each configuration runs with the same seed for T and then 2T time units.
+ * The first T units of the longer run are the shorter run, so the
+ * difference in the bytes the thread allocated is the cost of the extra T
+ * units alone, leaving out the fixed cost of setting up a run. Both runs
+ * are repeated until the JIT has compiled the loop. Without the pool every
+ * arrival allocates a Process; with it the loop must allocate nothing.
+ *
+ * Usage: java AllocationTester [-a]
+ *
+ * @author Peyton Lundquist
+ * @date 10/17/2026
+ */
+public class AllocationTester {
+	private static final int TIME = 200000;
+	private static final int WARMUP = 5;
+	private static final String[][] CONFIGURATIONS = {
+			{},
+			{"--queue", "lazy"},
+			{"--queue", "bucket"},
+			{"--queue", "offheap"},
+			{"--queue", "pairing"},
+			{"--queue", "leftist"},
+			{"--cores", "4"},
+			{"--cores", "4", "--runqueue", "percore"},
+			{"--engine", "event"},
+	};
+
+	private final com.sun.management.ThreadMXBean threads =
+			(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+	private boolean printFailuresOnly = true;
+	private int totalRun = 0;
+	private int passes = 0;
+	private int failures = 0;
+
+	public static void main(String[] args) {
+		AllocationTester tester = new AllocationTester(args);
+		tester.runTests();
+	}
+
+	/** AllocationTester constructor
+	 * @param args command line args
+	 */
+	public AllocationTester(String[] args) {
+		for (String arg : args) {
+			if (arg.equalsIgnoreCase("-a"))
+				printFailuresOnly = false;
+		}
+	}
+
+	/** Print test results in a consistent format
+	 * @param testDesc description of the test
+	 * @param result indicates if the test passed or failed
+	 */
+	private void printTest(String testDesc, boolean result) {
+		totalRun++;
+		if (result) { passes++; }
+		else { failures++; }
+		if (!result || !printFailuresOnly) {
+			System.out.printf("%-46s\t%s\n", testDesc, (result ? "   PASS" : "***FAIL***"));
+		}
+	}
+
+	/** Runs every configuration with and without the pool */
+	private void runTests() {
+		for (String[] configuration : CONFIGURATIONS) {
+			String name = configuration.length == 0 ? "default" : String.join(" ", configuration);
+			double unpooled = bytesPerTick(configuration, "off");
+			double pooled = bytesPerTick(configuration, "on");
+			printTest(name + ": unpooled allocates", unpooled > 0);
+			printTest(name + ": pooled allocates nothing", pooled == 0);
+			if (!printFailuresOnly || pooled != 0) {
+				System.out.printf("  bytes per time unit: unpooled %.2f, pooled %.2f\n", unpooled, pooled);
+			}
+		}
+		System.out.printf("\nTotal Tests Run: %d,  Passed: %d (%.1f%%),  Failed: %d\n",
+				totalRun, passes, passes*100.0/totalRun, failures);
+	}
+
+	/**
+	 * Measures the bytes allocated per time unit past the first TIME units.
+	 * @param configuration CPUScheduling options
+	 * @param pool "on" or "off"
+	 * @return Bytes per time unit
+	 */
+	private double bytesPerTick(String[] configuration, String pool) {
+		long extra = 0;
+		for (int i = 0; i <= WARMUP; i++) {
+			extra = allocated(configuration, pool, 2 * TIME) - allocated(configuration, pool, TIME);
+		}
+		return (double) extra / TIME;
+	}
+
+	/**
+	 * Runs one seeded, silent simulation.
+	 * @return Bytes the thread allocated in runSimulation
+	 */
+	private long allocated(String[] configuration, String pool, int time) {
+		String[] args = {"10", "10", "10", Integer.toString(time), "0.1", "42", "--output", "null", "--pool", pool};
+		String[] all = new String[args.length + configuration.length];
+		System.arraycopy(args, 0, all, 0, args.length);
+		System.arraycopy(configuration, 0, all, args.length, configuration.length);
+		CPUScheduling simulation = new CPUScheduling();
+		simulation.processArguments(all);
+		long thread = Thread.currentThread().getId();
+		long bytes = threads.getThreadAllocatedBytes(thread);
+		simulation.runSimulation();
+		return threads.getThreadAllocatedBytes(thread) - bytes;
+	}
+}
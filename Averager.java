@@ -1,19 +1,31 @@
-
 /**
  * Keeps track of the number of processes executed and the sum of turn around
  * time for this simulation. It provides a method 'average' to return the
  * average turn around time after the simulation.
- * 
+ *
+ * It also keeps the minimum, the maximum and the variance, the latter with
+ * Welford's streaming algorithm, and Averagers of separate runs can be
+ * merged without keeping their samples. For percentiles see
+ * LatencyHistogram.
+ *
  * @author cs321-instructors
- * 
+ *
  */
 public class Averager {
 	private int count;
 	private double sum;
+	private double min;
+	private double max;
+	private double mean;  // Running mean, for the variance
+	private double m2;    // Sum of squared differences from the running mean
 
 	public Averager() {
 		count = 0;
 		sum = 0;
+		min = Double.NaN;
+		max = Double.NaN;
+		mean = 0;
+		m2 = 0;
 	}
 
 	public void addNumber(double value) {
@@ -21,6 +33,55 @@ public class Averager {
 			throw new IllegalStateException("Too many Processes.");
 		count++;
 		sum += value;
+		if (count == 1 || value < min)
+			min = value;
+		if (count == 1 || value > max)
+			max = value;
+		double delta = value - mean;
+		mean += delta / count;
+		m2 += delta * (value - mean);
+	}
+
+	/**
+	 * Adds the same value several times over.
+	 * @param value Value to add
+	 * @param times Number of times to add it
+	 */
+	public void addNumber(double value, int times) {
+		if (times < 0 || count > Integer.MAX_VALUE - times)
+			throw new IllegalStateException("Too many Processes.");
+		if (times == 0)
+			return;
+		combine(times, value * times, value, value, value, 0);
+	}
+
+	/**
+	 * Adds every number of another Averager to this one.
+	 * @param other Averager to merge in
+	 */
+	public void merge(Averager other) {
+		if (count > Integer.MAX_VALUE - other.count)
+			throw new IllegalStateException("Too many Processes.");
+		if (other.count == 0)
+			return;
+		combine(other.count, other.sum, other.min, other.max, other.mean, other.m2);
+	}
+
+	/**
+	 * Combines another set of numbers into this one, by the parallel form
+	 * of Welford's algorithm.
+	 */
+	private void combine(int n, double nSum, double nMin, double nMax, double nMean, double nM2) {
+		if (count == 0 || nMin < min)
+			min = nMin;
+		if (count == 0 || nMax > max)
+			max = nMax;
+		long total = (long) count + n;
+		double delta = nMean - mean;
+		mean += delta * n / total;
+		m2 += nM2 + delta * delta * ((double) count * n / total);
+		count = (int) total;
+		sum += nSum;
 	}
 
 	public double getAverage() {
@@ -33,4 +94,34 @@ public class Averager {
 	public int getCount() {
 		return count;
 	}
+
+	/**
+	 * @return The smallest number added, NaN if there are none
+	 */
+	public double getMin() {
+		return min;
+	}
+
+	/**
+	 * @return The largest number added, NaN if there are none
+	 */
+	public double getMax() {
+		return max;
+	}
+
+	/**
+	 * @return The sample variance of the numbers, NaN if there are fewer than two
+	 */
+	public double getVariance() {
+		if (count < 2)
+			return Double.NaN;
+		return m2 / (count - 1);
+	}
+
+	/**
+	 * @return The sample standard deviation of the numbers, NaN if there are fewer than two
+	 */
+	public double getStandardDeviation() {
+		return Math.sqrt(getVariance());
+	}
 }
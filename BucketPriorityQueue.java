@@ -0,0 +1,303 @@
+/**
+ * BucketPriorityQueue is a priority queue for the bounded priority range
+ * 1..maxPriority used by the simulation. It keeps one bucket per priority
+ * level, and a bitmap with one bit per level marks the non-empty buckets,
+ * so the highest non-empty level is found with Long.numberOfLeadingZeros.
+ *
+ * Within a bucket, Processes leave in order of arrival, earliest first,
+ * which is the tie-breaking rule of Process.compareTo. A Process promoted
+ * into a bucket, or put back after running, may have arrived before the
+ * ones already there, so each bucket is a small min-heap on arrival time
+ * rather than a plain FIFO. Aging is lazy, as in LazyAgingPriorityQueue,
+ * and a promotion moves a Process from its bucket to the next one up.
+ *
+ * @author Peyton Lundquist
+ * @date 10/17/2026
+ */
+public class BucketPriorityQueue implements PriorityQueueInterface {
+	private static final int ARRAYSIZE = 16;
+	private static final long FREE = Long.MIN_VALUE;
+
+	private final int maxPriority;
+	private int size;
+	private long[] bitmap;            // Bit p is set when bucket p is non-empty
+
+	private int[][] bucketArrivals;   // Arrival times of each bucket, in heap order
+	private int[][] bucketIds;        // Slot ids of each bucket, in heap order
+	private int[] bucketSizes;
+
+	private Process[] slots;          // Queued Processes, indexed by slot id
+	private int[] levels;             // Bucket of each slot
+	private int[] pos;                // Heap index of each slot within its bucket
+	private long[] stamps;            // Epoch of each slot's last zero waiting time, FREE if unused
+	private int[] freeSlots;
+	private int freeCount;
+	private int slotCount;
+
+	private long epoch;
+	private int agingPeriod;
+	private AgingSchedule schedule;
+	private PromotionListener promotionListener;
+
+	/**
+	 * Constructor
+	 * @param maxPriority The highest priority level a Process can have
+	 */
+	public BucketPriorityQueue(int maxPriority) {
+		if(maxPriority < 1) {
+			throw new IllegalArgumentException("maxPriority must be >= 1.");
+		}
+		this.maxPriority = maxPriority;
+		bitmap = new long[(maxPriority >> 6) + 1];
+		bucketArrivals = new int[maxPriority + 1][];
+		bucketIds = new int[maxPriority + 1][];
+		bucketSizes = new int[maxPriority + 1];
+		slots = new Process[ARRAYSIZE];
+		levels = new int[ARRAYSIZE];
+		pos = new int[ARRAYSIZE];
+		stamps = new long[ARRAYSIZE];
+		freeSlots = new int[ARRAYSIZE];
+		schedule = new AgingSchedule();
+		size = 0;
+	}
+
+	@Override
+	public void enqueue(Process p) {
+		int priority = p.getPriority();
+		if(priority < 1 || priority > maxPriority) {
+			throw new IllegalArgumentException("Priority " + priority + " is outside 1.." + maxPriority + ".");
+		}
+		int slot = allocateSlot(p);
+		stamps[slot] = epoch - p.getWaitingTime();
+		schedule.add(slot, stamps[slot]);
+		bucketInsert(priority, slot);
+		size++;
+	}
+
+	@Override
+	public Process dequeue() {
+		if(size < 1) {
+			return null;
+		}
+		int level = highestLevel();
+		int slot = bucketIds[level][0];
+		bucketRemove(level, 0);
+		size--;
+		Process max = slots[slot];
+		max.setPriority(level);
+		long waited = epoch - stamps[slot];
+		if(agingPeriod > 0) {
+			waited %= agingPeriod;
+		}
+		max.setWaitingTime((int) waited);
+		releaseSlot(slot);
+		return max;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Returns the number of queued Processes.
+	 * @return Number of Processes in the queue
+	 */
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public void setPromotionListener(PromotionListener listener) {
+		promotionListener = listener;
+	}
+
+	@Override
+	public void update(Process next, int timeToIncrementPriority, int maxPriority) {
+		next.resetWaitingTime();
+		agingPeriod = timeToIncrementPriority;
+		epoch++;
+		int cap = Math.min(maxPriority, this.maxPriority);
+		while(!schedule.isEmpty() && schedule.peekStamp() + timeToIncrementPriority <= epoch) {
+			int slot = schedule.peekSlot();
+			long stamp = schedule.peekStamp();
+			schedule.poll();
+			if(stamps[slot] != stamp) { // Dequeued, or already handled this epoch
+				continue;
+			}
+			stamps[slot] = epoch;
+			int level = levels[slot];
+			if(level < cap) {
+				bucketRemove(level, pos[slot]);
+				bucketInsert(level + 1, slot);
+				schedule.add(slot, epoch);
+				if(promotionListener != null) {
+					promotionListener.promoted(slots[slot].getId(), level + 1);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Finds the highest non-empty bucket from the bitmap.
+	 * @return The highest priority level holding a Process
+	 */
+	private int highestLevel() {
+		for(int w = bitmap.length - 1; w >= 0; w--) {
+			if(bitmap[w] != 0) {
+				return (w << 6) + 63 - Long.numberOfLeadingZeros(bitmap[w]);
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Adds a slot to a bucket and sifts it up by arrival time.
+	 * @param level Bucket to insert into
+	 * @param slot Slot id of the Process
+	 */
+	private void bucketInsert(int level, int slot) {
+		int n = bucketSizes[level];
+		if(bucketIds[level] == null) {
+			bucketArrivals[level] = new int[ARRAYSIZE];
+			bucketIds[level] = new int[ARRAYSIZE];
+		}else if(n == bucketIds[level].length) {
+			int[] tempArrivals = new int[n * 2];
+			int[] tempIds = new int[n * 2];
+			System.arraycopy(bucketArrivals[level], 0, tempArrivals, 0, n);
+			System.arraycopy(bucketIds[level], 0, tempIds, 0, n);
+			bucketArrivals[level] = tempArrivals;
+			bucketIds[level] = tempIds;
+		}
+		bucketSizes[level] = n + 1;
+		levels[slot] = level;
+		if(n == 0) {
+			bitmap[level >> 6] |= 1L << level;
+		}
+		siftUp(level, n, slots[slot].getArrivalTime(), slot);
+	}
+
+	/**
+	 * Removes the entry at index i of a bucket.
+	 * @param level Bucket to remove from
+	 * @param i Heap index within the bucket
+	 */
+	private void bucketRemove(int level, int i) {
+		int n = bucketSizes[level] - 1;
+		bucketSizes[level] = n;
+		if(n == 0) {
+			bitmap[level >> 6] &= ~(1L << level);
+			return;
+		}
+		if(i == n) {
+			return;
+		}
+		int[] arrivals = bucketArrivals[level];
+		int[] ids = bucketIds[level];
+		int arrival = arrivals[n];
+		int slot = ids[n];
+		if(i > 0 && arrivals[(i - 1) >>> 1] > arrival) {
+			siftUp(level, i, arrival, slot);
+		}else {
+			siftDown(level, i, arrival, slot);
+		}
+	}
+
+	/**
+	 * Moves a hole at index i of a bucket up until the entry fits.
+	 * @param level Bucket holding the hole
+	 * @param i Heap index of the hole
+	 * @param arrival Arrival time of the entry to place
+	 * @param slot Slot id of the entry to place
+	 */
+	private void siftUp(int level, int i, int arrival, int slot) {
+		int[] arrivals = bucketArrivals[level];
+		int[] ids = bucketIds[level];
+		while(i > 0) {
+			int parent = (i - 1) >>> 1;
+			if(arrivals[parent] <= arrival) {
+				break;
+			}
+			arrivals[i] = arrivals[parent];
+			ids[i] = ids[parent];
+			pos[ids[i]] = i;
+			i = parent;
+		}
+		arrivals[i] = arrival;
+		ids[i] = slot;
+		pos[slot] = i;
+	}
+
+	/**
+	 * Moves a hole at index i of a bucket down until the entry fits.
+	 * @param level Bucket holding the hole
+	 * @param i Heap index of the hole
+	 * @param arrival Arrival time of the entry to place
+	 * @param slot Slot id of the entry to place
+	 */
+	private void siftDown(int level, int i, int arrival, int slot) {
+		int[] arrivals = bucketArrivals[level];
+		int[] ids = bucketIds[level];
+		int n = bucketSizes[level];
+		int half = n >>> 1;
+		while(i < half) {
+			int child = (i << 1) + 1;
+			int right = child + 1;
+			if(right < n && arrivals[right] < arrivals[child]) {
+				child = right;
+			}
+			if(arrival <= arrivals[child]) {
+				break;
+			}
+			arrivals[i] = arrivals[child];
+			ids[i] = ids[child];
+			pos[ids[i]] = i;
+			i = child;
+		}
+		arrivals[i] = arrival;
+		ids[i] = slot;
+		pos[slot] = i;
+	}
+
+	/**
+	 * Stores a Process in a free slot.
+	 * @param p Process to store
+	 * @return The slot id holding the Process
+	 */
+	private int allocateSlot(Process p) {
+		int slot;
+		if(freeCount > 0) {
+			slot = freeSlots[--freeCount];
+		}else {
+			slot = slotCount++;
+			if(slot >= slots.length) {
+				int newSize = slots.length * 2;
+				Process[] temp = new Process[newSize];
+				int[] tempLevels = new int[newSize];
+				int[] tempPos = new int[newSize];
+				long[] tempStamps = new long[newSize];
+				System.arraycopy(slots, 0, temp, 0, slots.length);
+				System.arraycopy(levels, 0, tempLevels, 0, levels.length);
+				System.arraycopy(pos, 0, tempPos, 0, pos.length);
+				System.arraycopy(stamps, 0, tempStamps, 0, stamps.length);
+				slots = temp;
+				levels = tempLevels;
+				pos = tempPos;
+				stamps = tempStamps;
+				freeSlots = new int[newSize];
+			}
+		}
+		slots[slot] = p;
+		return slot;
+	}
+
+	/**
+	 * Returns a slot to the free stack.
+	 * @param slot Slot id to release
+	 */
+	private void releaseSlot(int slot) {
+		slots[slot] = null;
+		stamps[slot] = FREE;
+		freeSlots[freeCount++] = slot;
+	}
+}
@@ -1,3 +1,11 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
 
 /**
  * 
@@ -15,7 +23,30 @@ public class CPUScheduling
     private  int simulationTime;
     private  double probability;
     private  long seed;
+    private  boolean seeded;
+    private  String rng = "random";
+    private  int rngBatch = 0;
     private  ProcessGeneratorInterface pGenerator;
+    private  String queueType = "heap";
+    private  int arity = 2;
+    private  int cores = 1;
+    private  boolean perCoreQueues = false;
+    private  Process[] running;   // Process on each CPU this time unit
+    private  int dispatched;      // Number of CPUs filled from the global run queue
+    private  String output = "text";
+    private  String traceFile = null;
+    private  SchedulingPolicy policy = SchedulingPolicy.PRIORITY;
+    private  boolean allPolicies = false; // Run every policy on the same workload
+    private  boolean eventEngine = false;
+    private  long nextArrival;    // Time of the next arrival, for the event engine
+    private  Averager turnaround; // Turn around times of the last run
+    private  LatencyHistogram turnaroundHistogram;
+    private  boolean stats = false;
+    private  boolean pooled = false;
+    private  ProcessPool pool;    // Finished processes for reuse, null when not pooling
+    private  int failedCore = -1; // CPU that fails during the run, -1 for none
+    private  int failTime;
+    private  int memoryBudget = ExternalPriorityQueue.DEFAULT_BUDGET;
 
     /**
      * Show usage for the program.
@@ -23,12 +54,24 @@ public class CPUScheduling
     public  void showUsage() {
 	System.out.println(
 	        "Usage: java CPUScheduling   <max-process-time>   <max-priority>   <time-to-increment-priority>"
-	                + "   <simulation-time>   <process arrival probability: (0..1)>");
+	                + "   <simulation-time>   <process arrival probability: (0..1)>   [<seed>]"
+	                + "   [--queue heap|packed|lazy|bucket|indexed|concurrent|offheap|pairing|leftist|external]   [--arity 2|4|8]"
+	                + "   [--cores N]   [--runqueue global|percore]   [--output text|quiet|null]   [--trace <file>]"
+	                + "   [--policy priority|srt|edf|mlfq|stride|cfs|all]   [--engine tick|event]"
+	                + "   [--rng random|splittable|l64x128|xoroshiro]   [--rng-batch N]   [--stats on|off]"
+	                + "   [--pool on|off]   [--fail <cpu>@<time>]   [--memory-budget N]");
 	System.exit(1);
     }
 
 
-    private  void processArguments(String[] args) {
+    /**
+     * Parse the command line arguments. Package-private so that drivers such
+     * as HeapBenchmark can configure a simulation the same way main does.
+     */
+    void processArguments(String[] args) {
+	args = processOptions(args);
+	if (args.length < 5) showUsage();
+
 	maxProcessTime = Integer.parseInt(args[0]);
 	if (maxProcessTime <= 0) throw new IllegalArgumentException("Illegal argument: maxProcessTime must >= 1.");
 
@@ -44,32 +87,215 @@ public class CPUScheduling
 
 	probability = Double.parseDouble(args[4]);
 
-	pGenerator = null;
 	seed = 0L;
+	seeded = false;
 	if (args.length == 6) {
 	    seed = Long.parseLong(args[5]);
-	    pGenerator = new ProcessGenerator(probability, seed);
-	} else {
-	    pGenerator = new ProcessGenerator(probability);
+	    seeded = true;
+	} else if (allPolicies) {
+	    seed = new Random().nextLong(); // Every policy must see the same workload
+	    seeded = true;
+	}
+	if (failedCore >= 0 && (cores < 2 || failedCore >= cores))
+	    throw new IllegalArgumentException("Illegal argument: --fail needs at least 2 cores and a CPU below cores.");
+	pGenerator = newGenerator();
+	createQueue(); // Fail fast on an unknown queue type
+    }
+
+
+    /**
+     * Strip the optional "--name value" arguments, leaving the positional ones.
+     */
+    private  String[] processOptions(String[] args) {
+	List<String> positional = new ArrayList<String>();
+	for (int i = 0; i < args.length; i++) {
+	    if (!args[i].startsWith("--")) {
+		positional.add(args[i]);
+		continue;
+	    }
+	    if (i + 1 >= args.length) throw new IllegalArgumentException("Illegal argument: " + args[i] + " needs a value.");
+	    String value = args[++i];
+	    switch (args[i - 1]) {
+	    case "--queue":
+		queueType = value;
+		break;
+	    case "--arity":
+		arity = Integer.parseInt(value);
+		break;
+	    case "--cores":
+		cores = Integer.parseInt(value);
+		if (cores <= 0) throw new IllegalArgumentException("Illegal argument: cores must >= 1.");
+		break;
+	    case "--runqueue":
+		if (!value.equals("global") && !value.equals("percore"))
+		    throw new IllegalArgumentException("Illegal argument: unknown run queue " + value + ".");
+		perCoreQueues = value.equals("percore");
+		break;
+	    case "--output":
+		if (!value.equals("text") && !value.equals("quiet") && !value.equals("null"))
+		    throw new IllegalArgumentException("Illegal argument: unknown output " + value + ".");
+		output = value;
+		break;
+	    case "--trace":
+		traceFile = value;
+		break;
+	    case "--engine":
+		if (!value.equals("tick") && !value.equals("event"))
+		    throw new IllegalArgumentException("Illegal argument: unknown engine " + value + ".");
+		eventEngine = value.equals("event");
+		break;
+	    case "--rng":
+		if (!Arrays.asList(ProcessGenerator.ALGORITHMS).contains(value))
+		    throw new IllegalArgumentException("Illegal argument: unknown random generator " + value + ".");
+		rng = value;
+		break;
+	    case "--rng-batch":
+		rngBatch = Integer.parseInt(value);
+		if (rngBatch < 0) throw new IllegalArgumentException("Illegal argument: rng-batch must >= 0.");
+		break;
+	    case "--stats":
+		if (!value.equals("on") && !value.equals("off"))
+		    throw new IllegalArgumentException("Illegal argument: --stats must be on or off.");
+		stats = value.equals("on");
+		break;
+	    case "--pool":
+		if (!value.equals("on") && !value.equals("off"))
+		    throw new IllegalArgumentException("Illegal argument: --pool must be on or off.");
+		pooled = value.equals("on");
+		break;
+	    case "--fail":
+		String[] fail = value.split("@");
+		if (fail.length != 2) throw new IllegalArgumentException("Illegal argument: --fail must be <cpu>@<time>.");
+		failedCore = Integer.parseInt(fail[0]);
+		failTime = Integer.parseInt(fail[1]);
+		if (failedCore < 0 || failTime < 0)
+		    throw new IllegalArgumentException("Illegal argument: --fail CPU and time must >= 0.");
+		break;
+	    case "--memory-budget":
+		memoryBudget = Integer.parseInt(value);
+		if (memoryBudget < 2) throw new IllegalArgumentException("Illegal argument: memory-budget must >= 2.");
+		break;
+	    case "--policy":
+		allPolicies = value.equals("all");
+		if (!allPolicies) policy = SchedulingPolicy.forName(value);
+		break;
+	    default:
+		throw new IllegalArgumentException("Illegal argument: unknown option " + args[i - 1] + ".");
+	    }
+	}
+	return positional.toArray(new String[positional.size()]);
+    }
+
+
+    /**
+     * Create the event sink selected with --output, recording a trace first
+     * when --trace is given. A trace also records the promotions made by the
+     * given run queues.
+     */
+    private  SimulationSink createSink(PriorityQueueInterface... queues) {
+	SimulationSink sink;
+	switch (output) {
+	case "quiet":
+	    sink = new QuietSink(System.out);
+	    break;
+	case "null":
+	    sink = new NullSink();
+	    break;
+	default:
+	    sink = new TextSink(System.out);
+	}
+	if (traceFile == null) return sink;
+	try {
+	    TraceWriter trace = new TraceWriter(Paths.get(traceFile), sink);
+	    for (PriorityQueueInterface queue : queues) {
+		queue.setPromotionListener(trace);
+	    }
+	    return trace;
+	} catch (IOException e) {
+	    throw new UncheckedIOException("Cannot write trace " + traceFile, e);
+	}
+    }
+
+
+    /**
+     * Create the run queue of the policy selected with --policy, or for the
+     * priority policy, the queue selected with --queue.
+     */
+    private  PriorityQueueInterface createQueue() {
+	PriorityQueueInterface queue = policy.newQueue(queueType, arity, maxPriority);
+	if (queue instanceof ExternalPriorityQueue) ((ExternalPriorityQueue) queue).setMemoryBudget(memoryBudget);
+	if (queue instanceof OffHeapPriorityQueue) ((OffHeapPriorityQueue) queue).setPool(pool);
+	return queue;
+    }
+
+
+    /**
+     * Release what a run queue holds outside the Java heap, such as the
+     * run files of the external queue.
+     */
+    private static void closeQueue(PriorityQueueInterface queue) {
+	if (queue instanceof ExternalPriorityQueue) ((ExternalPriorityQueue) queue).close();
+    }
+
+    /**
+     * Creates an empty queue by the names accepted by the --queue option.
+     * @param type Queue type
+     * @param arity Arity of the heap queue
+     * @param maxPriority Highest priority a Process can reach
+     * @return A new, empty queue
+     */
+    static PriorityQueueInterface newQueue(String type, int arity, int maxPriority) {
+	switch (type) {
+	case "heap":
+	    return new MyPriorityQueue(arity);
+	case "packed":
+	    return new PackedPriorityQueue();
+	case "lazy":
+	    return new LazyAgingPriorityQueue();
+	case "bucket":
+	    return new BucketPriorityQueue(maxPriority);
+	case "indexed":
+	    return new IndexedPriorityQueue();
+	case "concurrent":
+	    return new ConcurrentPriorityQueue();
+	case "offheap":
+	    return new OffHeapPriorityQueue();
+	case "pairing":
+	    return new PairingPriorityQueue();
+	case "leftist":
+	    return new LeftistPriorityQueue();
+	case "external":
+	    return new ExternalPriorityQueue();
+	default:
+	    throw new IllegalArgumentException("Illegal argument: unknown queue type " + type + ".");
 	}
     }
 
 
     public  void runSimulation() {
-	PriorityQueueInterface pqueue = new MyPriorityQueue();
+	if (cores > 1) {
+	    runMultiCoreSimulation();
+	    return;
+	}
+	PriorityQueueInterface pqueue = createQueue();
+	SimulationSink sink = createSink(pqueue);
 	Averager averager = new Averager();
+	LatencyHistogram histogram = new LatencyHistogram();
+	sink.start(cores);
+	startArrivals();
 
 	for (int currentTime = 0; currentTime < simulationTime; currentTime++) {
-	    System.out.format("second %3d: ", currentTime);
+	    if (eventEngine && pqueue.isEmpty()) {
+		currentTime = skipToNextArrival(currentTime, sink);
+		if (currentTime == simulationTime) break;
+	    }
+	    sink.tickStart(currentTime);
 
-	    boolean arrival = false;
 	    // Check to see if there is any incoming new process.
-	    if (pGenerator.query()) {
+	    if (arrives(currentTime)) {
 		Process p = pGenerator.getNewProcess(currentTime, maxProcessTime, maxPriority);
-		System.out.println("JOB " + currentTime + " arrives, timeRequired " + p.getTimeRemaining()
-		        + ", priority " + p.getPriority());
+		sink.arrival(currentTime, p);
 		pqueue.enqueue(p);
-		arrival = true;
 	    }
 
 	    // If the priority queue is not empty. Let the process with
@@ -78,26 +304,288 @@ public class CPUScheduling
 	    // processes in the priority queue.
 	    if (!pqueue.isEmpty()) {
 		Process next = pqueue.dequeue();
+		if (eventEngine && pqueue.isEmpty() && !sink.needsEveryTick()) {
+		    // Alone, it runs every time unit until the next arrival, its
+		    // completion or the end of the run, so all but the last of
+		    // those are run at once.
+		    long end = Math.min(Math.min(nextArrival, simulationTime),
+			    (long) currentTime + next.getTimeRemaining());
+		    int units = (int) end - 1 - currentTime;
+		    if (units > 0) {
+			next = pqueue.runAlone(next, units, timeToIncrementLevel, maxPriority);
+			currentTime += units;
+		    }
+		}
 		next.decrementTimeRemaining();
 		pqueue.update(next, timeToIncrementLevel, maxPriority);
-		if (arrival) System.out.print("\t    ");
+		sink.dispatch(currentTime, 0, next);
 		if (next.finished()) {
-		    System.out.print("    (Assign to JOB " + next.getArrivalTime() + ": FINISH, priority "
-		            + next.getPriority() + ")");
 		    averager.addNumber(currentTime - next.getArrivalTime() + 1);
+		    histogram.record(currentTime - next.getArrivalTime() + 1);
+		    if (pool != null) pool.release(next);
 		} else {
-		    System.out.print("    (Assign to JOB " + next.getArrivalTime() + ": timeRemaining "
-		            + next.getTimeRemaining() + ", priority " + next.getPriority() + ")");
 		    next.resetWaitingTime();
 		    pqueue.enqueue(next);
 		}
 	    }
-	    System.out.println();
+	    sink.tickEnd(currentTime);
+	}
+	sink.summary(simulationTime, averager);
+	if (stats) sink.statistics(averager, histogram);
+	sink.close();
+	closeQueue(pqueue);
+	turnaround = averager;
+	turnaroundHistogram = histogram;
+    }
+
+
+    /**
+     * Schedule the first arrival of a run, for the event engine.
+     */
+    private  void startArrivals() {
+	if (eventEngine) nextArrival = pGenerator.nextArrivalGap();
+    }
+
+
+    /**
+     * Check whether a process arrives at the given time. The tick engine asks
+     * the generator every time unit, as the original simulation did. The
+     * event engine keeps the time of the next arrival and, when it comes,
+     * samples the gap to the one after.
+     */
+    private  boolean arrives(int currentTime) {
+	if (!eventEngine) return pGenerator.query();
+	if (currentTime < nextArrival) return false;
+	nextArrival = currentTime + 1L + pGenerator.nextArrivalGap();
+	return true;
+    }
+
+
+    /**
+     * With every run queue empty, nothing happens until the next arrival, so
+     * the event engine jumps straight to it, reporting the time units in
+     * between as idle.
+     * @return The time of the next arrival, or simulationTime if it is later
+     */
+    private  int skipToNextArrival(int currentTime, SimulationSink sink) {
+	int until = (int) Math.min(nextArrival, simulationTime);
+	if (until > currentTime) sink.idle(currentTime, until);
+	return Math.max(until, currentTime);
+    }
+
+
+    private static int total(int[] counts) {
+	int sum = 0;
+	for (int count : counts) sum += count;
+	return sum;
+    }
+
+
+    /**
+     * Simulate scheduling on several CPUs. Each time unit, every CPU runs the
+     * highest priority process available to it. With a global run queue all
+     * CPUs take from one shared queue. With per-core run queues each arrival
+     * joins the shortest queue, a process goes back to the queue of the CPU
+     * that ran it, and a CPU whose own queue is empty migrates the top
+     * process of the longest queue. With --fail, a CPU stops at the given
+     * time and its run queue is melded into the shortest remaining one.
+     */
+    private  void runMultiCoreSimulation() {
+	PriorityQueueInterface[] queues = new PriorityQueueInterface[perCoreQueues ? cores : 1];
+	int[] queued = new int[queues.length]; // Processes waiting in each run queue
+	for (int q = 0; q < queues.length; q++) {
+	    queues[q] = createQueue();
+	}
+	running = new Process[cores];
+	SimulationSink sink = createSink(queues);
+	boolean[] offline = new boolean[cores];
+	Consumer<Process> dispatch = p -> {
+	    while (offline[dispatched]) dispatched++;
+	    running[dispatched++] = p;
+	};
+	int online = cores;
+	ArrayList<Process> requeue = new ArrayList<>(cores); // Unfinished processes for the global queue
+	Averager averager = new Averager();
+	LatencyHistogram histogram = new LatencyHistogram();
+	Averager[] coreTurnaround = new Averager[cores];
+	Averager[] coreUtilization = new Averager[cores];
+	for (int c = 0; c < cores; c++) {
+	    coreTurnaround[c] = new Averager();
+	    coreUtilization[c] = new Averager();
+	}
+	sink.start(cores);
+	startArrivals();
+
+	for (int currentTime = 0; currentTime < simulationTime; currentTime++) {
+	    if (eventEngine && total(queued) == 0) {
+		int from = currentTime;
+		currentTime = skipToNextArrival(currentTime, sink);
+		for (int c = 0; c < cores; c++) {
+		    coreUtilization[c].addNumber(0, currentTime - from);
+		}
+		if (currentTime == simulationTime) break;
+	    }
+	    sink.tickStart(currentTime);
+
+	    // A failing CPU hands its whole run queue to the shortest other one.
+	    if (failedCore >= 0 && currentTime >= failTime && !offline[failedCore]) {
+		offline[failedCore] = true;
+		online--;
+		if (perCoreQueues) {
+		    int shortest = shortestQueue(queued, offline);
+		    queues[shortest].meld(queues[failedCore]);
+		    queued[shortest] += queued[failedCore];
+		    queued[failedCore] = 0;
+		}
+	    }
+
+	    // Check to see if there is any incoming new process.
+	    if (arrives(currentTime)) {
+		Process p = pGenerator.getNewProcess(currentTime, maxProcessTime, maxPriority);
+		sink.arrival(currentTime, p);
+		int shortest = shortestQueue(queued, offline);
+		queues[shortest].enqueue(p);
+		queued[shortest]++;
+	    }
+
+	    // Every CPU takes the highest priority process from its run queue,
+	    // migrating one from the longest queue when its own is empty.
+	    if (!perCoreQueues) {
+		Arrays.fill(running, null);
+		dispatched = 0;
+		queued[0] -= queues[0].dequeueBatch(online, dispatch);
+	    } else {
+		for (int c = 0; c < cores; c++) {
+		    running[c] = null;
+		    if (offline[c]) continue;
+		    int q = c;
+		    if (queued[q] == 0) {
+			for (int other = 0; other < queues.length; other++) {
+			    if (queued[other] > queued[q]) q = other;
+			}
+		    }
+		    if (queued[q] > 0) {
+			running[c] = queues[q].dequeue();
+			queued[q]--;
+		    }
+		}
+	    }
+
+	    // Age the processes left waiting, once per run queue. A per-core queue
+	    // that still holds processes was served by its own CPU this tick.
+	    boolean first = true;
+	    for (int c = 0; c < cores; c++) {
+		Process next = running[c];
+		coreUtilization[c].addNumber(next == null ? 0 : 1);
+		if (next == null) continue;
+		next.decrementTimeRemaining();
+		if (perCoreQueues) {
+		    queues[c].update(next, timeToIncrementLevel, maxPriority);
+		} else if (first) {
+		    queues[0].update(next, timeToIncrementLevel, maxPriority);
+		} else {
+		    next.resetWaitingTime();
+		}
+		first = false;
+	    }
+
+	    for (int c = 0; c < cores; c++) {
+		Process next = running[c];
+		if (next == null) continue;
+		sink.dispatch(currentTime, c, next);
+		if (next.finished()) {
+		    averager.addNumber(currentTime - next.getArrivalTime() + 1);
+		    histogram.record(currentTime - next.getArrivalTime() + 1);
+		    coreTurnaround[c].addNumber(currentTime - next.getArrivalTime() + 1);
+		    if (pool != null) pool.release(next);
+		} else if (perCoreQueues) {
+		    next.resetWaitingTime();
+		    queues[c].enqueue(next);
+		    queued[c]++;
+		} else {
+		    next.resetWaitingTime();
+		    requeue.add(next);
+		}
+	    }
+
+	    // The global queue takes back every unfinished process in one batch.
+	    if (!requeue.isEmpty()) {
+		queues[0].enqueueAll(requeue);
+		queued[0] += requeue.size();
+		requeue.clear();
+	    }
+	    sink.tickEnd(currentTime);
 	}
-	System.out.println("--- Simulation completed ---");
-	System.out.println("Simulation time: " + simulationTime + " unit time.");
-	System.out.println("Number of finished processes: " + averager.getCount());
-	System.out.printf("Average Turn around time for a process: %4.2f\n", averager.getAverage());
+	sink.summary(simulationTime, averager);
+	sink.coreSummary(perCoreQueues, coreUtilization, coreTurnaround);
+	if (stats) sink.statistics(averager, histogram);
+	sink.close();
+	for (PriorityQueueInterface queue : queues) {
+	    closeQueue(queue);
+	}
+	turnaround = averager;
+	turnaroundHistogram = histogram;
+    }
+
+
+    /**
+     * Find the run queue an arrival joins: the shortest one of a CPU still
+     * running. With a global run queue that is always queue 0.
+     */
+    private static int shortestQueue(int[] queued, boolean[] offline) {
+	int shortest = -1;
+	for (int q = 0; q < queued.length; q++) {
+	    if (offline[q] && queued.length > 1) continue;
+	    if (shortest < 0 || queued[q] < queued[shortest]) shortest = q;
+	}
+	return shortest;
+    }
+
+
+    /**
+     * Create a process generator from the seed and the --rng options, and
+     * with --pool on, the pool it recycles finished processes from.
+     */
+    private  ProcessGenerator newGenerator() {
+	ProcessGenerator generator = seeded ? new ProcessGenerator(probability, seed, rng)
+	        : new ProcessGenerator(probability, rng);
+	generator.setBatchSize(rngBatch);
+	pool = pooled ? new ProcessPool() : null;
+	generator.setPool(pool);
+	return generator;
+    }
+
+
+    /**
+     * Get the turn around times of the processes finished in the last run.
+     */
+    public  Averager getTurnaround() {
+	return turnaround;
+    }
+
+
+    /**
+     * Get the histogram of the turn around times of the last run.
+     */
+    public  LatencyHistogram getTurnaroundHistogram() {
+	return turnaroundHistogram;
+    }
+
+
+    /**
+     * Run the simulation once per scheduling policy, each on the same seeded
+     * stream of processes. A trace file gets the policy name appended.
+     */
+    public  void runAllPolicies() {
+	String trace = traceFile;
+	for (SchedulingPolicy p : SchedulingPolicy.values()) {
+	    policy = p;
+	    pGenerator = newGenerator();
+	    if (trace != null) traceFile = trace + "." + p.getName();
+	    System.out.println("=== Policy: " + p.getName() + " ===");
+	    runSimulation();
+	}
+	traceFile = trace;
     }
 
 
@@ -108,6 +596,13 @@ public class CPUScheduling
 	}
 	simulation.processArguments(args);
 
-	simulation.runSimulation();
+	if (simulation.allPolicies) {
+	    simulation.runAllPolicies();
+	} else {
+	    simulation.runSimulation();
+	}
+	if (HeapMetrics.ENABLED) {
+	    HeapMetrics.REGISTRY.report(System.err);
+	}
     }
 }
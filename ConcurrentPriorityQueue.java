@@ -0,0 +1,150 @@
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ConcurrentPriorityQueue is a thread-safe, lock-free priority queue built
+ * on a ConcurrentSkipListSet. Each queued Process is wrapped in an immutable
+ * entry holding a snapshot of its priority, so the skip list order never
+ * changes underneath it. enqueue is a single insertion and dequeue a
+ * pollFirst, and every operation is linearizable.
+ *
+ * Aging is lazy, as in LazyAgingPriorityQueue: update advances a shared
+ * epoch and promotes only the entries whose waiting time reaches
+ * timeToIncrementPriority, taken from a ConcurrentLinkedQueue kept in
+ * stamp order. Concurrent enqueues can append slightly out of order, which
+ * at worst delays a promotion until the entry ahead of it is also due.
+ * Several threads may call update at once, and each entry is promoted by
+ * exactly one of them.
+ *
+ * A promotion inserts the new entry before it removes the old one, so the
+ * Process is never missing from the skip list. For the moment both are
+ * there, they share a claim flag: the dequeue that takes either entry
+ * first claims the Process, and any dequeue that later takes the other
+ * skips it and polls again. The new entry orders ahead of the old one, so
+ * a dequeue never returns the Process at its old priority once the
+ * promotion is visible. If a dequeue claims the old entry before the new
+ * one is in, the promotion is abandoned and the new entry removed.
+ *
+ * @author Peyton Lundquist
+ * @date 10/17/2026
+ */
+public class ConcurrentPriorityQueue implements PriorityQueueInterface {
+	private final ConcurrentSkipListSet<Entry> set;
+	private final ConcurrentLinkedQueue<Entry> schedule;
+	private final AtomicLong epoch;
+	private final AtomicLong sequence;
+	private volatile int agingPeriod;
+	private volatile PromotionListener promotionListener;
+
+	/**
+	 * Constructor
+	 */
+	public ConcurrentPriorityQueue() {
+		set = new ConcurrentSkipListSet<Entry>();
+		schedule = new ConcurrentLinkedQueue<Entry>();
+		epoch = new AtomicLong();
+		sequence = new AtomicLong();
+		agingPeriod = 0;
+	}
+
+	@Override
+	public void enqueue(Process p) {
+		Entry entry = new Entry(p, p.getPriority(), epoch.get() - p.getWaitingTime(), sequence.getAndIncrement(),
+				new AtomicBoolean());
+		set.add(entry);
+		schedule.offer(entry);
+	}
+
+	@Override
+	public Process dequeue() {
+		Entry max;
+		do {
+			max = set.pollFirst();
+			if(max == null) {
+				return null;
+			}
+		} while(!max.claimed.compareAndSet(false, true)); // Skip the other entry of a Process being promoted
+		Process p = max.process;
+		p.setPriority(max.priority);
+		long waited = epoch.get() - max.stamp;
+		int period = agingPeriod;
+		if(period > 0) {
+			waited %= period;
+		}
+		p.setWaitingTime((int) waited);
+		return p;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return set.isEmpty();
+	}
+
+	@Override
+	public void setPromotionListener(PromotionListener listener) {
+		promotionListener = listener;
+	}
+
+	@Override
+	public void update(Process next, int timeToIncrementPriority, int maxPriority) {
+		next.resetWaitingTime();
+		agingPeriod = timeToIncrementPriority;
+		long now = epoch.incrementAndGet();
+		Entry head;
+		while((head = schedule.peek()) != null && head.stamp + timeToIncrementPriority <= now) {
+			if(!schedule.remove(head)) { // Another updater took it
+				continue;
+			}
+			if(head.priority < maxPriority && !head.claimed.get()) {
+				Entry promoted = new Entry(head.process, head.priority + 1, now, head.seq, head.claimed);
+				set.add(promoted);
+				if(!set.remove(head) && set.remove(promoted)) { // A dequeue claimed the old entry first
+					continue;
+				}
+				schedule.offer(promoted);
+				PromotionListener listener = promotionListener;
+				if(listener != null) {
+					listener.promoted(promoted.process.getId(), promoted.priority);
+				}
+			}
+		}
+	}
+
+	/**
+	 * A snapshot of a queued Process, immutable but for the claim flag it
+	 * shares with the entry that replaces it on promotion. Entries order by priority,
+	 * highest first, then by arrival time, earliest first, as in
+	 * Process.compareTo. The enqueue sequence number breaks any remaining
+	 * tie, so no two entries compare equal.
+	 */
+	private static final class Entry implements Comparable<Entry> {
+		final Process process;
+		final int priority;
+		final int arrivalTime;
+		final long stamp;  // Epoch at which the waiting time was zero
+		final long seq;
+		final AtomicBoolean claimed; // Set by the dequeue that takes the Process
+
+		Entry(Process process, int priority, long stamp, long seq, AtomicBoolean claimed) {
+			this.process = process;
+			this.priority = priority;
+			this.arrivalTime = process.getArrivalTime();
+			this.stamp = stamp;
+			this.seq = seq;
+			this.claimed = claimed;
+		}
+
+		@Override
+		public int compareTo(Entry o) {
+			if(priority != o.priority) {
+				return priority > o.priority ? -1 : 1;
+			}
+			if(arrivalTime != o.arrivalTime) {
+				return arrivalTime < o.arrivalTime ? -1 : 1;
+			}
+			return Long.compare(seq, o.seq);
+		}
+	}
+}
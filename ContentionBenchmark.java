@@ -0,0 +1,200 @@
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Measures the throughput of shared priority queues under contention. Each
+ * worker thread holds a few Processes of its own and, for a fixed time,
+ * randomly either enqueues one of them or dequeues one from the shared
+ * queue. A given percentage of operations are instead calls to update,
+ * which age every queue but the blocking one. The queues compared are ConcurrentPriorityQueue, a
+ * SynchronizedPriorityQueue around MyPriorityQueue, and a
+ * PriorityBlockingQueue.
+ *
+ * Results are printed as CSV: queue, threads, seconds, operations and
+ * operations per second.
+ *
+ * Usage: java ContentionBenchmark [--threads 1,2,4,...] [--seconds s]
+ *        [--prefill n] [--updates percent] [--queues concurrent,synchronized,blocking]
+ *
+ * @author Peyton Lundquist
+ * @date 10/17/2026
+ */
+public class ContentionBenchmark {
+	private static final int LOCAL_PROCESSES = 64; // Processes held by each worker
+	private static final int MAX_PRIORITY = 32;
+	private static final int AGING_PERIOD = 10;
+
+	private int[] threadCounts = {1, 2, 4, 8, 16, 32, 64};
+	private double seconds = 2.0;
+	private int prefill = 100000;
+	private int updates = 1; // Percent of operations that are updates
+	private String[] queues = {"concurrent", "synchronized", "blocking"};
+	private volatile boolean stopped;
+
+	public static void main(String[] args) throws InterruptedException {
+		ContentionBenchmark benchmark = new ContentionBenchmark();
+		benchmark.processArguments(args);
+		benchmark.run();
+	}
+
+	/**
+	 * Reads the optional "--name value" arguments.
+	 * @param args command line args
+	 */
+	private void processArguments(String[] args) {
+		for(int i = 0; i + 1 < args.length; i += 2) {
+			String value = args[i + 1];
+			switch(args[i]) {
+			case "--threads":
+				String[] counts = value.split(",");
+				threadCounts = new int[counts.length];
+				for(int j = 0; j < counts.length; j++) {
+					threadCounts[j] = Integer.parseInt(counts[j].trim());
+				}
+				break;
+			case "--seconds":
+				seconds = Double.parseDouble(value);
+				break;
+			case "--prefill":
+				prefill = Integer.parseInt(value);
+				break;
+			case "--updates":
+				updates = Integer.parseInt(value);
+				break;
+			case "--queues":
+				queues = value.split(",");
+				break;
+			default:
+				throw new IllegalArgumentException("Illegal argument: unknown option " + args[i] + ".");
+			}
+		}
+	}
+
+	/**
+	 * Runs every queue at every thread count, after a short warm-up.
+	 */
+	private void run() throws InterruptedException {
+		System.out.println("queue,threads,seconds,operations,operationsPerSecond");
+		for(String queue : queues) {
+			measure(queue, threadCounts[threadCounts.length - 1], Math.min(seconds, 1.0)); // Warm-up
+			for(int threads : threadCounts) {
+				long ops = measure(queue, threads, seconds);
+				System.out.printf("%s,%d,%.2f,%d,%.0f%n", queue, threads, seconds, ops, ops / seconds);
+			}
+		}
+	}
+
+	/**
+	 * Creates a queue by name.
+	 * @param name Queue name
+	 * @return A new, empty queue
+	 */
+	private PriorityQueueInterface newQueue(String name) {
+		switch(name) {
+		case "concurrent":
+			return new ConcurrentPriorityQueue();
+		case "synchronized":
+			return new SynchronizedPriorityQueue(new MyPriorityQueue());
+		case "blocking":
+			return new BlockingQueueAdapter();
+		default:
+			throw new IllegalArgumentException("Illegal argument: unknown queue " + name + ".");
+		}
+	}
+
+	/**
+	 * Runs one measurement.
+	 * @param name Queue name
+	 * @param threads Number of worker threads
+	 * @param duration Measurement time in seconds
+	 * @return Total operations completed by all workers
+	 */
+	private long measure(String name, int threads, double duration) throws InterruptedException {
+		final PriorityQueueInterface queue = newQueue(name);
+		Random rand = new Random(42);
+		for(int i = 0; i < prefill; i++) {
+			queue.enqueue(new Process(i, 1, rand.nextInt(MAX_PRIORITY) + 1));
+		}
+		final CountDownLatch start = new CountDownLatch(1);
+		final long[] counts = new long[threads];
+		Thread[] workers = new Thread[threads];
+		for(int t = 0; t < threads; t++) {
+			final int worker = t;
+			workers[t] = new Thread(() -> {
+				Process[] local = new Process[LOCAL_PROCESSES];
+				int held = 0;
+				for(; held < LOCAL_PROCESSES / 2; held++) {
+					local[held] = new Process(-1, 1, held % MAX_PRIORITY + 1);
+				}
+				Process running = new Process(-1, 1, 1); // Passed to update as the running Process
+				ThreadLocalRandom random = ThreadLocalRandom.current();
+				long ops = 0;
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				while(!stopped) {
+					for(int k = 0; k < 64; k++) { // Check the stop flag in batches
+						if(random.nextInt(100) < updates) {
+							queue.update(running, AGING_PERIOD, MAX_PRIORITY);
+						}else if(held > 0 && (held == LOCAL_PROCESSES || random.nextBoolean())) {
+							queue.enqueue(local[--held]);
+						}else {
+							Process p = queue.dequeue();
+							if(p != null) {
+								local[held++] = p;
+							}
+						}
+						ops++;
+					}
+				}
+				counts[worker] = ops;
+			});
+			workers[t].start();
+		}
+		stopped = false;
+		start.countDown();
+		Thread.sleep((long) (duration * 1000));
+		stopped = true;
+		long total = 0;
+		for(int t = 0; t < threads; t++) {
+			workers[t].join();
+			total += counts[t];
+		}
+		return total;
+	}
+
+	/**
+	 * Presents a PriorityBlockingQueue, ordered highest priority first, as a
+	 * PriorityQueueInterface. It has no aging, so update only resets the
+	 * running Process.
+	 */
+	private static class BlockingQueueAdapter implements PriorityQueueInterface {
+		private final PriorityBlockingQueue<Process> queue =
+				new PriorityBlockingQueue<Process>(11, Collections.reverseOrder());
+
+		@Override
+		public void enqueue(Process p) {
+			queue.offer(p);
+		}
+
+		@Override
+		public Process dequeue() {
+			return queue.poll();
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return queue.isEmpty();
+		}
+
+		@Override
+		public void update(Process next, int timeToIncrementPriority, int maxPriority) {
+			next.resetWaitingTime();
+		}
+	}
+}
@@ -0,0 +1,46 @@
+/**
+ * EarliestDeadlineQueue schedules by earliest deadline first. A Process's
+ * deadline is its arrival time plus slack times its service time, so every
+ * job is allowed the same stretch relative to its length. Priorities are
+ * ignored.
+ *
+ * @author Peyton Lundquist
+ * @date 10/17/2026
+ */
+public class EarliestDeadlineQueue extends KeyedPriorityQueue {
+	public static final double DEFAULT_SLACK = 2.0;
+
+	private final double slack;
+
+	/**
+	 * Constructor for a queue with the default slack
+	 */
+	public EarliestDeadlineQueue() {
+		this(DEFAULT_SLACK);
+	}
+
+	/**
+	 * Constructor
+	 * @param slack Multiple of its service time a Process may take to complete
+	 */
+	public EarliestDeadlineQueue(double slack) {
+		if(slack <= 0) {
+			throw new IllegalArgumentException("slack must be > 0.");
+		}
+		this.slack = slack;
+	}
+
+	/**
+	 * Returns the deadline of a Process.
+	 * @param p A Process
+	 * @return Time by which the Process should complete
+	 */
+	public long deadline(Process p) {
+		return p.getArrivalTime() + (long) Math.ceil(slack * p.getServiceTime());
+	}
+
+	@Override
+	protected long key(Process p) {
+		return deadline(p);
+	}
+}
@@ -0,0 +1,484 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * ExternalPriorityQueue extends the MyPriorityQueue class with a budget on
+ * the number of Processes it keeps in memory. When an enqueue finds the
+ * heap at the budget, the heap is sorted in place with heapSort, its lower
+ * half is written to a file as a run in descending order, and the upper
+ * half stays in memory as the heap. dequeue then merges: it takes the
+ * greatest of the heap's top and the heads of the runs. Once there are
+ * more than MAX_RUNS runs they are merged into one.
+ *
+ * Runs are fixed-width records of priority, arrival time, service time,
+ * time remaining, waiting time and id, as in OffHeapPriorityQueue, written
+ * and read through FileChannels in buffers of up to BUFFER_RECORDS
+ * records. A Process read back is a new Process rebuilt from its record,
+ * not the one enqueued.
+ *
+ * Aging. update ages the heap as MyPriorityQueue does, which bounds its
+ * cost by the budget. Processes in a run are not touched. Each run instead
+ * remembers the epoch, the number of updates so far, at which it was
+ * written, and a record read back gets the promotions it missed since:
+ * one per agingPeriod of its waiting time plus the updates since then,
+ * up to maxPriority. A Process thus leaves a run with exactly the priority
+ * and waiting time it would have had in memory.
+ *
+ * Processes spilled with the same priority and waiting time are promoted
+ * together, so a run is written as cohorts of them, each in order of
+ * arrival, in descending order of priority and then waiting time; at
+ * maxPriority, where no more promotions come, a cohort is every Process of
+ * a priority. The missed promotions never reorder a run's cohorts, but
+ * they bring cohorts that were apart to the same priority, so each cohort
+ * is read on its own and dequeue takes the earliest arrival among the
+ * heads of every cohort at the highest priority, as the heap would.
+ * Processes therefore come out in exactly the order they would from
+ * MyPriorityQueue. Promotions made while a Process is spilled are not
+ * reported to the promotion listener.
+ *
+ * Run files go in a temporary directory, created on the first spill,
+ * unless a directory is given. Each file is deleted once its run is
+ * drained; close deletes the rest.
+ *
+ * @author Peyton Lundquist
+ * @date 10/17/2026
+ */
+public class ExternalPriorityQueue extends MyPriorityQueue implements AutoCloseable {
+	public static final int DEFAULT_BUDGET = 1 << 20;
+	private static final int MAX_RUNS = 16;
+	private static final int BUFFER_RECORDS = 4096;
+	private static final int RECORD_BYTES = 24;
+
+	private int budget;
+	private Path directory;         // Where runs are written, null until the first spill
+	private boolean ownsDirectory;  // The directory is a temporary one of this queue's
+	private final List<Run> runs;
+	private final ByteBuffer writeBuffer;
+	private long spilledSize;       // Processes in runs
+	private long spilledTotal;      // Records written, counting merges
+	private long epoch;             // Number of calls to update so far
+	private int agingPeriod;        // Last timeToIncrementPriority seen by update
+	private int maxPriority;        // Last maxPriority seen by update
+
+	/**
+	 * Constructor for a queue that keeps DEFAULT_BUDGET Processes in memory
+	 * and spills to a temporary directory.
+	 */
+	public ExternalPriorityQueue() {
+		this(DEFAULT_BUDGET, null);
+	}
+
+	/**
+	 * Constructor
+	 * @param budget Most Processes kept in memory, at least 2
+	 * @param directory Directory to write runs to, or null for a temporary one
+	 */
+	public ExternalPriorityQueue(int budget, Path directory) {
+		super();
+		setMemoryBudget(budget);
+		this.directory = directory;
+		runs = new ArrayList<Run>();
+		writeBuffer = ByteBuffer.allocateDirect(BUFFER_RECORDS * RECORD_BYTES);
+		maxPriority = Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Sets the most Processes kept in memory. A lower budget than the heap
+	 * holds takes effect at the next enqueue.
+	 * @param budget Most Processes kept in memory, at least 2
+	 */
+	public void setMemoryBudget(int budget) {
+		if(budget < 2) {
+			throw new IllegalArgumentException("Illegal argument: memory budget must >= 2.");
+		}
+		this.budget = budget;
+	}
+
+	@Override
+	public void enqueue(Process p) {
+		if(heapSize >= budget) {
+			spill();
+		}
+		super.enqueue(p);
+	}
+
+	@Override
+	public Process dequeue() {
+		if(runs.isEmpty()) {
+			return (heapSize > 0) ? super.dequeue() : null;
+		}
+		Cohort best = null;
+		int bestPriority = Integer.MIN_VALUE;
+		int bestArrival = 0;
+		if(heapSize > 0) {
+			bestPriority = A[0].getPriority();
+			bestArrival = A[0].getArrivalTime();
+		}
+		for(Run run : runs) {
+			for(Cohort cohort : run.cohorts) {
+				int priority = agedPriority(cohort);
+				if(priority < bestPriority) { // The run's later cohorts are no higher
+					break;
+				}
+				if(priority > bestPriority || cohort.arrival < bestArrival) {
+					best = cohort;
+					bestPriority = priority;
+					bestArrival = cohort.arrival;
+				}
+			}
+		}
+		if(best == null) {
+			return super.dequeue();
+		}
+		Process p = new Process(best.id, best.arrival, best.serviceTime, best.timeRemaining, bestPriority);
+		p.setWaitingTime(agedWaiting(best));
+		spilledSize--;
+		if(!best.advance()) {
+			Run run = best.run;
+			run.cohorts.remove(best);
+			if(run.cohorts.isEmpty()) {
+				runs.remove(run);
+				run.delete();
+			}
+		}
+		return p;
+	}
+
+	@Override
+	public void enqueueAll(Collection<Process> processes) {
+		for(Process p : processes) {
+			enqueue(p);
+		}
+	}
+
+	@Override
+	public int dequeueBatch(int k, Consumer<Process> sink) {
+		int n = 0;
+		while(n < k && !isEmpty()) {
+			sink.accept(dequeue());
+			n++;
+		}
+		return n;
+	}
+
+	@Override
+	public void meld(PriorityQueueInterface other) {
+		while(other != this && !other.isEmpty()) {
+			enqueue(other.dequeue());
+		}
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return heapSize == 0 && spilledSize == 0;
+	}
+
+	/**
+	 * Returns the number of queued Processes, in memory and spilled.
+	 * @return Number of Processes in the queue
+	 */
+	public long size() {
+		return heapSize + spilledSize;
+	}
+
+	/**
+	 * Returns the number of Processes written to runs so far, counting each
+	 * time a merge of runs writes one again.
+	 * @return Number of records written
+	 */
+	public long getSpilledTotal() {
+		return spilledTotal;
+	}
+
+	@Override
+	public void update(Process next, int timeToIncrementPriority, int maxPriority) {
+		super.update(next, timeToIncrementPriority, maxPriority);
+		epoch++;
+		agingPeriod = timeToIncrementPriority;
+		this.maxPriority = maxPriority;
+	}
+
+	/**
+	 * Deletes every run file, and the directory if it is a temporary one of
+	 * this queue's. The spilled Processes are lost.
+	 */
+	@Override
+	public void close() {
+		for(Run run : runs) {
+			run.delete();
+		}
+		runs.clear();
+		spilledSize = 0;
+		if(ownsDirectory) {
+			try {
+				Files.deleteIfExists(directory);
+			} catch (IOException e) {
+				throw new UncheckedIOException("Cannot delete " + directory, e);
+			}
+			directory = null;
+			ownsDirectory = false;
+		}
+	}
+
+	/**
+	 * Writes the lower half of the heap to a new run.
+	 */
+	private void spill() {
+		int n = heapSize;
+		int half = n / 2;
+		Process[] sorted = heapSort(); // The heap's own array, lowest first, and the heap now empty
+		Arrays.sort(sorted, 0, half, Comparator.comparingInt(Process::getPriority) // Lowest first
+				.thenComparingInt(p -> p.getPriority() >= maxPriority ? 0 : p.getWaitingTime())
+				.thenComparingInt(p -> -p.getArrivalTime()));
+		Run run = new Run();
+		for(int i = half - 1; i >= 0; i--) {
+			Process p = sorted[i];
+			run.write(p.getPriority(), p.getArrivalTime(), p.getServiceTime(), p.getTimeRemaining(),
+					p.getWaitingTime(), p.getId());
+		}
+		run.finishWriting();
+		for(int i = 0, j = n - 1; i < j; i++, j--) {
+			Process temp = sorted[i];
+			sorted[i] = sorted[j];
+			sorted[j] = temp;
+		}
+		// Reversed, the upper half sits in descending order at the front of the
+		// heap's array, and a descending array is already a max-heap, so putting
+		// each Process back in place moves nothing.
+		for(int i = 0; i < n - half; i++) {
+			super.enqueue(sorted[i]);
+		}
+		for(int i = n - half; i < n; i++) {
+			sorted[i] = null; // Let the spilled Processes go
+		}
+		runs.add(run);
+		spilledSize += half;
+		if(runs.size() > MAX_RUNS) {
+			mergeRuns();
+		}
+	}
+
+	/**
+	 * Merges every run into one, aging each record to the current epoch and
+	 * keeping the order in which runs are written.
+	 */
+	private void mergeRuns() {
+		PriorityQueue<Cohort> heads = new PriorityQueue<Cohort>(this::compareHeads);
+		for(Run run : runs) {
+			heads.addAll(run.cohorts);
+		}
+		Run merged = new Run();
+		while(!heads.isEmpty()) {
+			Cohort cohort = heads.poll();
+			merged.write(agedPriority(cohort), cohort.arrival, cohort.serviceTime, cohort.timeRemaining,
+					agedWaiting(cohort), cohort.id);
+			if(cohort.advance()) {
+				heads.add(cohort);
+			}
+		}
+		for(Run run : runs) {
+			run.delete();
+		}
+		runs.clear();
+		merged.finishWriting();
+		runs.add(merged);
+	}
+
+	/**
+	 * Order in which runs are written: higher priority first, then, below
+	 * maxPriority, longer waiting time, then earlier arrival, all as aged
+	 * to the current epoch.
+	 * @return Negative if the head of a goes first, positive if that of b does
+	 */
+	private int compareHeads(Cohort a, Cohort b) {
+		int priority = agedPriority(a);
+		int otherPriority = agedPriority(b);
+		if(priority != otherPriority) {
+			return Integer.compare(otherPriority, priority);
+		}
+		if(priority < maxPriority) {
+			int waiting = agedWaiting(a);
+			int otherWaiting = agedWaiting(b);
+			if(waiting != otherWaiting) {
+				return Integer.compare(otherWaiting, waiting);
+			}
+		}
+		return Integer.compare(a.arrival, b.arrival);
+	}
+
+	/**
+	 * The priority of a cohort, with the promotions it missed while spilled.
+	 */
+	private int agedPriority(Cohort cohort) {
+		if(agingPeriod == 0 || cohort.priority >= maxPriority) {
+			return cohort.priority;
+		}
+		long promotions = (cohort.waiting + epoch - cohort.run.epoch) / agingPeriod;
+		return (int) Math.min(maxPriority, cohort.priority + promotions);
+	}
+
+	/**
+	 * The waiting time of a cohort's head, as the updates it missed would have left it.
+	 */
+	private int agedWaiting(Cohort cohort) {
+		long waited = cohort.waiting + epoch - cohort.run.epoch;
+		return (int) (agingPeriod == 0 ? waited : waited % agingPeriod);
+	}
+
+	/**
+	 * Returns the directory runs are written to, creating a temporary one
+	 * on first use.
+	 */
+	private Path directory() throws IOException {
+		if(directory == null) {
+			directory = Files.createTempDirectory("runqueue");
+			ownsDirectory = true;
+		}
+		return directory;
+	}
+
+	/**
+	 * A run of records in descending order in a file of its own, as a list
+	 * of cohorts. It is written once, through the queue's write buffer, and
+	 * each cohort is then read through a buffer of its own.
+	 */
+	private class Run {
+		private final Path file;
+		private final FileChannel channel;
+		private final long epoch;  // Epoch the records were aged to when written
+		private final List<Cohort> cohorts;
+		private long written;      // Records written
+
+		Run() {
+			try {
+				file = Files.createTempFile(directory(), "run", ".bin");
+				channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+			} catch (IOException e) {
+				throw new UncheckedIOException("Cannot create a run in " + directory, e);
+			}
+			epoch = ExternalPriorityQueue.this.epoch;
+			cohorts = new ArrayList<Cohort>();
+			writeBuffer.clear();
+		}
+
+		/**
+		 * Appends a record, starting a new cohort unless it is promoted
+		 * together with the last one.
+		 */
+		void write(int priority, int arrival, int serviceTime, int timeRemaining, int waiting, int id) {
+			Cohort last = cohorts.isEmpty() ? null : cohorts.get(cohorts.size() - 1);
+			if(last == null || priority != last.priority || (priority < maxPriority && waiting != last.waiting)) {
+				last = new Cohort(this, written * RECORD_BYTES, priority, waiting);
+				cohorts.add(last);
+			}
+			if(!writeBuffer.hasRemaining()) {
+				flush();
+			}
+			writeBuffer.putInt(priority).putInt(arrival).putInt(serviceTime).putInt(timeRemaining)
+					.putInt(waiting).putInt(id);
+			last.end += RECORD_BYTES;
+			written++;
+			spilledTotal++;
+		}
+
+		/**
+		 * Ends writing and reads the first record of every cohort.
+		 */
+		void finishWriting() {
+			flush();
+			for(Cohort cohort : cohorts) {
+				int records = (int) Math.min(BUFFER_RECORDS, (cohort.end - cohort.position) / RECORD_BYTES);
+				cohort.buffer = ByteBuffer.allocateDirect(records * RECORD_BYTES);
+				cohort.buffer.limit(0);
+				cohort.advance();
+			}
+		}
+
+		void delete() {
+			try {
+				channel.close();
+				Files.deleteIfExists(file);
+			} catch (IOException e) {
+				throw new UncheckedIOException("Cannot delete " + file, e);
+			}
+		}
+
+		private void flush() {
+			writeBuffer.flip();
+			try {
+				while(writeBuffer.hasRemaining()) {
+					channel.write(writeBuffer);
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException("Cannot write " + file, e);
+			}
+			writeBuffer.clear();
+		}
+	}
+
+	/**
+	 * Consecutive records of a run that are promoted together, in order of
+	 * arrival. The fields hold the head record.
+	 */
+	private class Cohort {
+		private final Run run;
+		private long position;  // Offset in the file of the first record not yet buffered
+		private long end;       // Offset in the file after the last record
+		private ByteBuffer buffer;
+		private int priority;
+		private int arrival;
+		private int serviceTime;
+		private int timeRemaining;
+		private int waiting;
+		private int id;
+
+		Cohort(Run run, long position, int priority, int waiting) {
+			this.run = run;
+			this.position = position;
+			end = position;
+			this.priority = priority;
+			this.waiting = waiting;
+		}
+
+		/**
+		 * Moves to the next record.
+		 * @return false, with no head, if the cohort is drained
+		 */
+		boolean advance() {
+			if(!buffer.hasRemaining()) {
+				if(position == end) {
+					return false;
+				}
+				buffer.clear();
+				buffer.limit((int) Math.min(buffer.capacity(), end - position));
+				try {
+					while(buffer.hasRemaining() && run.channel.read(buffer, position + buffer.position()) > 0) {
+					}
+				} catch (IOException e) {
+					throw new UncheckedIOException("Cannot read " + run.file, e);
+				}
+				position += buffer.position();
+				buffer.flip();
+			}
+			priority = buffer.getInt();
+			arrival = buffer.getInt();
+			serviceTime = buffer.getInt();
+			timeRemaining = buffer.getInt();
+			waiting = buffer.getInt();
+			id = buffer.getInt();
+			return true;
+		}
+	}
+}
@@ -0,0 +1,645 @@
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * A benchmark harness for the heap, queue and simulation hot paths. Each
+ * benchmark is run for a number of warm-up iterations, then measured over
+ * a number of timed iterations, for every combination of queue size and
+ * priority range. Only the timed part of each benchmark is measured; the
+ * state it needs is rebuilt outside of the timer. So that a benchmark whose
+ * setup costs far more than its timed part still finishes, an iteration
+ * also ends after ten times its time has passed on the clock.
+ *
+ * Each result reports nanoseconds per operation (mean, standard deviation
+ * and best iteration), the bytes allocated per operation by the benchmark
+ * thread, and the number and duration of garbage collections during the
+ * measured iterations. Results are printed as CSV or JSON, to standard
+ * output or a file, and can be compared against a CSV from an earlier run.
+ *
+ * Benchmarks:
+ *   insert       MaxHeap.maxHeapInsert into a heap growing to size
+ *   extract      MaxHeap.heapExtractMax from a heap of size
+ *   heapify      MaxHeap.maxHeapify(0) after lowering the root's priority
+ *   build        MaxHeap.buildMaxHeap of size Processes, per Process
+ *   heapsort     MaxHeap.heapSort of a heap of size, per Process
+ *   topk         TopK selection of the TOP_K highest priority of size
+ *                Processes, per Process
+ *   update       PriorityQueueInterface.update on a queue holding size Processes
+ *   meld         PriorityQueueInterface.meld of a queue of size Processes into
+ *                another of size, per meld
+ *   steady       One time unit of the simulation loop on a queue kept at size
+ *                Processes: dequeue, run, update, and enqueue the Process again
+ *                or, once it finishes, a seeded new arrival in its place
+ *   simulation   CPUScheduling.runSimulation with output disabled, per time unit;
+ *                its size is the simulation time
+ *
+ * Usage: java HeapBenchmark [--benchmarks insert,extract,...] [--sizes 1000,...]
+ *        [--priorities 10,...] [--queues heap,lazy,...] [--arity 2]
+ *        [--warmup 3] [--iterations 5] [--time ms] [--sim-time units]
+ *        [--format csv|json] [--out file] [--compare baseline.csv]
+ *
+ * Run with -verbose:gc or -Xlog:gc for a full GC log alongside the counts.
+ *
+ * @author Peyton Lundquist
+ * @date 10/17/2026
+ */
+public class HeapBenchmark {
+	private static final int TOP_K = 100;
+	private static final String HEADER = "benchmark,queue,size,priorities,iterations,nsPerOp,nsPerOpStddev,"
+			+ "nsPerOpMin,bytesPerOp,gcCount,gcMillis";
+
+	private String[] benchmarks = {"insert", "extract", "heapify", "build", "heapsort", "topk", "update", "meld", "steady", "simulation"};
+	private int[] sizes = {1000, 10000, 100000};
+	private int[] priorities = {10, 100};
+	private String[] queues = {"heap", "lazy"};
+	private int arity = 2;
+	private int warmup = 3;
+	private int iterations = 5;
+	private long iterationNanos = 500000000L;
+	private int simulationTime = 20000;
+	private String format = "csv";
+	private String outFile = null;
+	private String compareFile = null;
+
+	private final com.sun.management.ThreadMXBean threads =
+			(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+	private long sink; // Consumes results so the JIT cannot drop the work
+
+	public static void main(String[] args) throws IOException {
+		HeapBenchmark benchmark = new HeapBenchmark();
+		benchmark.processArguments(args);
+		benchmark.run();
+	}
+
+	/**
+	 * A benchmark body. setup rebuilds the state the benchmark needs, outside
+	 * of the timer, and run performs the timed work.
+	 */
+	private interface Operation {
+		void setup();
+
+		/**
+		 * @return Number of operations performed
+		 */
+		long run();
+	}
+
+	/**
+	 * The measurements of one benchmark configuration.
+	 */
+	private static class Result {
+		String benchmark;
+		String queue;
+		int size;
+		int priorities;
+		double mean;
+		double stddev;
+		double min;
+		double bytesPerOp;
+		long gcCount;
+		long gcMillis;
+
+		String key() {
+			return benchmark + "," + queue + "," + size + "," + priorities;
+		}
+	}
+
+	/**
+	 * Reads the optional "--name value" arguments.
+	 * @param args command line args
+	 */
+	private void processArguments(String[] args) {
+		for(int i = 0; i + 1 < args.length; i += 2) {
+			String value = args[i + 1];
+			switch(args[i]) {
+			case "--benchmarks":
+				benchmarks = value.split(",");
+				break;
+			case "--sizes":
+				sizes = parseInts(value);
+				break;
+			case "--priorities":
+				priorities = parseInts(value);
+				break;
+			case "--queues":
+				queues = value.split(",");
+				break;
+			case "--arity":
+				arity = Integer.parseInt(value);
+				break;
+			case "--warmup":
+				warmup = Integer.parseInt(value);
+				break;
+			case "--iterations":
+				iterations = Integer.parseInt(value);
+				break;
+			case "--time":
+				iterationNanos = Long.parseLong(value) * 1000000L;
+				break;
+			case "--sim-time":
+				simulationTime = Integer.parseInt(value);
+				break;
+			case "--format":
+				format = value;
+				break;
+			case "--out":
+				outFile = value;
+				break;
+			case "--compare":
+				compareFile = value;
+				break;
+			default:
+				throw new IllegalArgumentException("Illegal argument: unknown option " + args[i] + ".");
+			}
+		}
+	}
+
+	private static int[] parseInts(String list) {
+		String[] parts = list.split(",");
+		int[] values = new int[parts.length];
+		for(int i = 0; i < parts.length; i++) {
+			values[i] = Integer.parseInt(parts[i].trim());
+		}
+		return values;
+	}
+
+	/**
+	 * Runs every selected benchmark and reports the results.
+	 */
+	private void run() throws IOException {
+		List<Result> results = new ArrayList<Result>();
+		for(String benchmark : benchmarks) {
+			boolean perQueue = benchmark.equals("update") || benchmark.equals("meld") || benchmark.equals("steady")
+					|| benchmark.equals("simulation");
+			String[] queueList = perQueue ? queues : new String[] {"heap"};
+			int[] sizeList = benchmark.equals("simulation") ? new int[] {simulationTime} : sizes;
+			for(String queue : queueList) {
+				for(int size : sizeList) {
+					for(int range : priorities) {
+						Result result = measure(benchmark, queue, size, range);
+						results.add(result);
+						System.err.printf(Locale.ROOT, "%-11s %-8s size %-8d priorities %-5d %12.1f ns/op%n",
+								benchmark, queue, size, range, result.mean);
+					}
+				}
+			}
+		}
+		PrintStream out = outFile == null ? System.out : new PrintStream(outFile);
+		if(format.equals("json")) {
+			printJson(out, results);
+		}else {
+			printCsv(out, results);
+		}
+		if(out != System.out) {
+			out.close();
+		}
+		if(compareFile != null) {
+			compare(results);
+		}
+	}
+
+	/**
+	 * Runs the warm-up and measured iterations of one configuration.
+	 */
+	private Result measure(String benchmark, String queue, int size, int range) {
+		Operation op = newOperation(benchmark, queue, size, range);
+		for(int i = 0; i < warmup; i++) {
+			iterate(op, null);
+		}
+		long gcCountBefore = gcCount();
+		long gcMillisBefore = gcMillis();
+		double[] nsPerOp = new double[iterations];
+		long[] allocation = new long[2]; // Bytes, operations
+		for(int i = 0; i < iterations; i++) {
+			nsPerOp[i] = iterate(op, allocation);
+		}
+		Result result = new Result();
+		result.benchmark = benchmark;
+		result.queue = queue;
+		result.size = size;
+		result.priorities = range;
+		result.gcCount = gcCount() - gcCountBefore;
+		result.gcMillis = gcMillis() - gcMillisBefore;
+		result.bytesPerOp = allocation[1] == 0 ? 0 : (double) allocation[0] / allocation[1];
+		result.min = Double.MAX_VALUE;
+		for(double value : nsPerOp) {
+			result.mean += value / iterations;
+			result.min = Math.min(result.min, value);
+		}
+		for(double value : nsPerOp) {
+			result.stddev += (value - result.mean) * (value - result.mean);
+		}
+		result.stddev = iterations > 1 ? Math.sqrt(result.stddev / (iterations - 1)) : 0;
+		return result;
+	}
+
+	/**
+	 * Runs one iteration: repeats setup and the timed run until the timed
+	 * part adds up to the iteration time.
+	 * @param op Benchmark body
+	 * @param allocation Accumulates bytes allocated and operations timed, or null
+	 * @return Nanoseconds per operation for this iteration
+	 */
+	private double iterate(Operation op, long[] allocation) {
+		long thread = Thread.currentThread().getId();
+		long elapsed = 0;
+		long ops = 0;
+		long deadline = System.nanoTime() + 10 * iterationNanos;
+		while(elapsed < iterationNanos && System.nanoTime() < deadline) {
+			op.setup();
+			long bytes = threads.getThreadAllocatedBytes(thread);
+			long start = System.nanoTime();
+			long done = op.run();
+			elapsed += System.nanoTime() - start;
+			bytes = threads.getThreadAllocatedBytes(thread) - bytes;
+			ops += done;
+			if(allocation != null) {
+				allocation[0] += bytes;
+				allocation[1] += done;
+			}
+		}
+		return (double) elapsed / ops;
+	}
+
+	/**
+	 * Creates the body of a benchmark.
+	 */
+	private Operation newOperation(String benchmark, String queue, int size, int range) {
+		switch(benchmark) {
+		case "insert":
+			return new HeapOperation(size, range) {
+				public void setup() {
+					heap = new MaxHeap(arity);
+				}
+
+				public long run() {
+					for(Process p : processes) {
+						heap.maxHeapInsert(p);
+					}
+					sink += heap.getHeapSize();
+					return processes.length;
+				}
+			};
+		case "extract":
+			return new HeapOperation(size, range) {
+				public void setup() {
+					heap = filledHeap();
+				}
+
+				public long run() {
+					try {
+						while(heap.getHeapSize() > 0) {
+							sink += heap.heapExtractMax().getArrivalTime();
+						}
+					} catch (HeapUnderFlowException e) {
+						throw new IllegalStateException(e);
+					}
+					return processes.length;
+				}
+			};
+		case "heapify":
+			return new HeapOperation(size, range) {
+				public void setup() {
+					heap = filledHeap();
+				}
+
+				public long run() {
+					int n = processes.length / 2;
+					Process[] A = heap.getHeap();
+					for(int i = 0; i < n; i++) {
+						A[0].setPriority(0); // Below every generated priority, so it sinks to a leaf
+						heap.maxHeapify(0);
+					}
+					sink += A[0].getPriority();
+					return n;
+				}
+			};
+		case "build":
+			return new HeapOperation(size, range) {
+				public void setup() {
+					heap = new MaxHeap(arity);
+					resetPriorities();
+				}
+
+				public long run() {
+					heap.buildMaxHeap(processes);
+					sink += heap.getHeapSize();
+					return processes.length;
+				}
+			};
+		case "heapsort":
+			return new HeapOperation(size, range) {
+				public void setup() {
+					heap = filledHeap();
+				}
+
+				public long run() {
+					Process[] sorted = heap.heapSort();
+					sink += sorted[0].getPriority();
+					return processes.length;
+				}
+			};
+		case "topk":
+			return new HeapOperation(size, range) {
+				public void setup() {
+				}
+
+				public long run() {
+					TopK<Process> top = new TopK<Process>(TOP_K, Comparator.naturalOrder());
+					for(Process p : processes) {
+						top.offer(p);
+					}
+					sink += top.minimum().getPriority();
+					return processes.length;
+				}
+			};
+		case "update":
+			return new QueueOperation(queue, size, range);
+		case "meld":
+			return new MeldOperation(queue, size, range);
+		case "steady":
+			return new SteadyOperation(queue, size, range);
+		case "simulation":
+			return new SimulationOperation(queue, range);
+		default:
+			throw new IllegalArgumentException("Illegal argument: unknown benchmark " + benchmark + ".");
+		}
+	}
+
+	/**
+	 * Shared state of the MaxHeap benchmarks: a fixed set of Processes with
+	 * seeded random priorities.
+	 */
+	private abstract class HeapOperation implements Operation {
+		protected final Process[] processes;
+		protected final int[] initialPriorities;
+		protected MaxHeap heap;
+
+		HeapOperation(int size, int range) {
+			Random rand = new Random(size * 31L + range);
+			processes = new Process[size];
+			initialPriorities = new int[size];
+			for(int i = 0; i < size; i++) {
+				initialPriorities[i] = rand.nextInt(range) + 1;
+				processes[i] = new Process(i, 1, initialPriorities[i]);
+			}
+		}
+
+		protected void resetPriorities() {
+			for(int i = 0; i < processes.length; i++) {
+				processes[i].setPriority(initialPriorities[i]);
+			}
+		}
+
+		protected MaxHeap filledHeap() {
+			resetPriorities();
+			MaxHeap filled = new MaxHeap(arity);
+			filled.buildMaxHeap(processes);
+			return filled;
+		}
+	}
+
+	/**
+	 * Calls update on a queue holding size Processes. The running Process is
+	 * not in the queue, so the queue size stays constant.
+	 */
+	private class QueueOperation implements Operation {
+		private static final int UPDATES = 64;
+		private final String queueType;
+		private final int size;
+		private final int range;
+		private final Process running = new Process(-1, 1, 1);
+		private PriorityQueueInterface queue;
+		private int calls;
+
+		QueueOperation(String queueType, int size, int range) {
+			this.queueType = queueType;
+			this.size = size;
+			this.range = range;
+		}
+
+		public void setup() {
+			if(queue != null && calls < 16 * size) { // Rebuild once aging has capped most priorities
+				return;
+			}
+			queue = CPUScheduling.newQueue(queueType, arity, range);
+			Random rand = new Random(size);
+			for(int i = 0; i < size; i++) {
+				queue.enqueue(new Process(i, 1, rand.nextInt(range) + 1));
+			}
+			calls = 0;
+		}
+
+		public long run() {
+			for(int i = 0; i < UPDATES; i++) {
+				queue.update(running, 10, range);
+			}
+			calls += UPDATES;
+			return UPDATES;
+		}
+	}
+
+	/**
+	 * Melds one queue of size Processes into another, as a CPU's run queue
+	 * is handed to another when the CPU fails. Both queues are refilled with
+	 * the same seeded Processes before every meld.
+	 */
+	private class MeldOperation implements Operation {
+		private final String queueType;
+		private final int size;
+		private final int range;
+		private final Process[] processes;
+		private final int[] initialPriorities;
+		private PriorityQueueInterface target;
+		private PriorityQueueInterface source;
+
+		MeldOperation(String queueType, int size, int range) {
+			this.queueType = queueType;
+			this.size = size;
+			this.range = range;
+			Random rand = new Random(size * 31L + range);
+			processes = new Process[2 * size];
+			initialPriorities = new int[2 * size];
+			for(int i = 0; i < processes.length; i++) {
+				initialPriorities[i] = rand.nextInt(range) + 1;
+				processes[i] = new Process(i, 1, initialPriorities[i]);
+			}
+		}
+
+		public void setup() {
+			target = CPUScheduling.newQueue(queueType, arity, range);
+			source = CPUScheduling.newQueue(queueType, arity, range);
+			for(int i = 0; i < processes.length; i++) {
+				processes[i].setPriority(initialPriorities[i]);
+				processes[i].resetWaitingTime();
+				(i < size ? target : source).enqueue(processes[i]);
+			}
+		}
+
+		public long run() {
+			target.meld(source);
+			sink += target.isEmpty() ? 0 : 1;
+			return 1;
+		}
+	}
+
+	/**
+	 * Runs the simulation loop for one time unit at a time on a queue that
+	 * holds a constant number of Processes, as a simulation would at that
+	 * queue depth. Finished Processes are recycled through a ProcessPool so
+	 * that allocation does not drown out the queue.
+	 */
+	private class SteadyOperation implements Operation {
+		private static final int TICKS = 1024;
+		private static final int MAX_PROCESS_TIME = 10;
+		private static final int AGING = 10;
+		private final String queueType;
+		private final int size;
+		private final int range;
+		private final Random rand;
+		private final ProcessPool pool = new ProcessPool();
+		private PriorityQueueInterface queue;
+		private int time;
+
+		SteadyOperation(String queueType, int size, int range) {
+			this.queueType = queueType;
+			this.size = size;
+			this.range = range;
+			rand = new Random(size * 31L + range);
+		}
+
+		public void setup() {
+			if(queue != null) { // Keep the queue in its steady state
+				return;
+			}
+			queue = CPUScheduling.newQueue(queueType, arity, range);
+			for(time = 0; time < size; time++) {
+				queue.enqueue(newProcess());
+			}
+		}
+
+		public long run() {
+			for(int i = 0; i < TICKS; i++, time++) {
+				Process next = queue.dequeue();
+				next.decrementTimeRemaining();
+				queue.update(next, AGING, range);
+				if(next.finished()) {
+					pool.release(next);
+					next = newProcess();
+				}else {
+					next.resetWaitingTime();
+				}
+				queue.enqueue(next);
+			}
+			return TICKS;
+		}
+
+		private Process newProcess() {
+			return pool.acquire(time, rand.nextInt(MAX_PROCESS_TIME) + 1, rand.nextInt(range) + 1);
+		}
+	}
+
+	/**
+	 * Runs a full seeded simulation with output disabled. The priority range
+	 * is the simulation's maxPriority.
+	 */
+	private class SimulationOperation implements Operation {
+		private final String queueType;
+		private final int range;
+		private CPUScheduling simulation;
+
+		SimulationOperation(String queueType, int range) {
+			this.queueType = queueType;
+			this.range = range;
+		}
+
+		public void setup() {
+			simulation = new CPUScheduling();
+			simulation.processArguments(new String[] {"10", Integer.toString(range), "10",
+					Integer.toString(simulationTime), "0.5", "1234", "--queue", queueType,
+					"--arity", Integer.toString(arity), "--output", "null"});
+		}
+
+		public long run() {
+			simulation.runSimulation();
+			return simulationTime;
+		}
+	}
+
+	private static long gcCount() {
+		long count = 0;
+		for(GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+			count += Math.max(0, gc.getCollectionCount());
+		}
+		return count;
+	}
+
+	private static long gcMillis() {
+		long millis = 0;
+		for(GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+			millis += Math.max(0, gc.getCollectionTime());
+		}
+		return millis;
+	}
+
+	private static String csvRow(Result r, int iterations) {
+		return String.format(Locale.ROOT, "%s,%d,%.3f,%.3f,%.3f,%.3f,%d,%d", r.key(), iterations, r.mean,
+				r.stddev, r.min, r.bytesPerOp, r.gcCount, r.gcMillis);
+	}
+
+	private void printCsv(PrintStream out, List<Result> results) {
+		out.println(HEADER);
+		for(Result r : results) {
+			out.println(csvRow(r, iterations));
+		}
+	}
+
+	private void printJson(PrintStream out, List<Result> results) {
+		out.println("[");
+		for(int i = 0; i < results.size(); i++) {
+			Result r = results.get(i);
+			out.printf(Locale.ROOT, "  {\"benchmark\": \"%s\", \"queue\": \"%s\", \"size\": %d, \"priorities\": %d, "
+					+ "\"iterations\": %d, \"nsPerOp\": %.3f, \"nsPerOpStddev\": %.3f, \"nsPerOpMin\": %.3f, "
+					+ "\"bytesPerOp\": %.3f, \"gcCount\": %d, \"gcMillis\": %d}%s%n", r.benchmark, r.queue, r.size,
+					r.priorities, iterations, r.mean, r.stddev, r.min, r.bytesPerOp, r.gcCount, r.gcMillis,
+					i + 1 < results.size() ? "," : "");
+		}
+		out.println("]");
+	}
+
+	/**
+	 * Prints the change in ns/op against a CSV written by an earlier run.
+	 */
+	private void compare(List<Result> results) throws IOException {
+		Map<String, Double> baseline = new HashMap<String, Double>();
+		try(BufferedReader reader = new BufferedReader(new FileReader(compareFile))) {
+			String line = reader.readLine(); // Header
+			while((line = reader.readLine()) != null) {
+				String[] fields = line.split(",");
+				if(fields.length >= 6) {
+					baseline.put(fields[0] + "," + fields[1] + "," + fields[2] + "," + fields[3],
+							Double.parseDouble(fields[5]));
+				}
+			}
+		}
+		System.err.println("benchmark,queue,size,priorities,baselineNsPerOp,nsPerOp,change");
+		for(Result r : results) {
+			Double before = baseline.get(r.key());
+			if(before != null) {
+				System.err.printf(Locale.ROOT, "%s,%.3f,%.3f,%+.1f%%%n", r.key(), before, r.mean,
+						(r.mean - before) / before * 100);
+			}
+		}
+	}
+}
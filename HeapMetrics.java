@@ -0,0 +1,132 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Instrumentation of MaxHeap. It is off unless the JVM is started with
+ * -Dheap.metrics=true. ENABLED is a static final, so when it is false the
+ * JIT folds every "if(HeapMetrics.ENABLED)" in MaxHeap away and the hot
+ * path is exactly as before.
+ *
+ * When on, every insert, extract, increase-key and build records how many
+ * levels it sifted through, how many keys it compared and the heap size
+ * after it, and every reallocation of the heap array is counted. A level
+ * is counted only when the sift moves a Process across it, in either
+ * direction; the comparisons that end a sift are counted as comparisons
+ * but add no level. The
+ * numbers go to REGISTRY, which CPUScheduling prints to standard error at
+ * the end of a run, and to two JFR events when a flight recording is on:
+ *   maxheap.Operation  every operation, with its counts and heap size
+ *   maxheap.Resize     every reallocation, with the old and new capacity
+ * The Operation events' heap sizes give the queue depth over time.
+ *
+ * @author Peyton Lundquist
+ * @date 10/17/2026
+ */
+public final class HeapMetrics {
+	public static final boolean ENABLED = Boolean.getBoolean("heap.metrics");
+	public static final MetricsRegistry REGISTRY = new MetricsRegistry();
+
+	static final int INSERT = 0;
+	static final int EXTRACT = 1;
+	static final int INCREASE_KEY = 2;
+	static final int BUILD = 3;
+	private static final String[] OPERATIONS = {"insert", "extract", "increaseKey", "build"};
+
+	private static final MetricsRegistry.Counter[] COUNTS = new MetricsRegistry.Counter[OPERATIONS.length];
+	private static final MetricsRegistry.Histogram[] LEVELS = new MetricsRegistry.Histogram[OPERATIONS.length];
+	private static final MetricsRegistry.Histogram[] COMPARISONS = new MetricsRegistry.Histogram[OPERATIONS.length];
+	private static final MetricsRegistry.Counter MOVES;
+	private static final MetricsRegistry.Counter RESIZES;
+	private static final MetricsRegistry.Histogram DEPTH;
+
+	static {
+		if(ENABLED) {
+			for(int op = 0; op < OPERATIONS.length; op++) {
+				COUNTS[op] = REGISTRY.counter("heap." + OPERATIONS[op] + ".count");
+				LEVELS[op] = REGISTRY.histogram("heap." + OPERATIONS[op] + ".levels");
+				COMPARISONS[op] = REGISTRY.histogram("heap." + OPERATIONS[op] + ".comparisons");
+			}
+			MOVES = REGISTRY.counter("heap.moves");
+			RESIZES = REGISTRY.counter("heap.resizes");
+			DEPTH = REGISTRY.histogram("heap.depth");
+		}else {
+			MOVES = null;
+			RESIZES = null;
+			DEPTH = null;
+		}
+	}
+
+	private HeapMetrics() {
+	}
+
+	/**
+	 * Records one heap operation. Only call when ENABLED.
+	 * @param op INSERT, EXTRACT, INCREASE_KEY or BUILD
+	 * @param levels Number of levels a Process was moved across
+	 * @param comparisons Number of key comparisons
+	 * @param moves Number of Processes moved a level
+	 * @param heapSize Heap size after the operation
+	 */
+	static void operation(int op, int levels, int comparisons, int moves, int heapSize) {
+		COUNTS[op].increment();
+		LEVELS[op].record(levels);
+		COMPARISONS[op].record(comparisons);
+		MOVES.add(moves);
+		DEPTH.record(heapSize);
+		OperationEvent event = new OperationEvent();
+		if(event.isEnabled()) {
+			event.operation = OPERATIONS[op];
+			event.levels = levels;
+			event.comparisons = comparisons;
+			event.heapSize = heapSize;
+			event.commit();
+		}
+	}
+
+	/**
+	 * Records a reallocation of the heap array. Only call when ENABLED.
+	 * @param oldCapacity Length of the old array
+	 * @param newCapacity Length of the new array
+	 */
+	static void resize(int oldCapacity, int newCapacity) {
+		RESIZES.increment();
+		ResizeEvent event = new ResizeEvent();
+		if(event.isEnabled()) {
+			event.oldCapacity = oldCapacity;
+			event.newCapacity = newCapacity;
+			event.commit();
+		}
+	}
+
+	@Name("maxheap.Operation")
+	@Label("Heap Operation")
+	@Category("MaxHeap")
+	@Description("An insert, extract, increase-key or build of a MaxHeap")
+	@StackTrace(false)
+	static class OperationEvent extends Event {
+		@Label("Operation")
+		String operation;
+		@Label("Levels")
+		int levels;
+		@Label("Comparisons")
+		int comparisons;
+		@Label("Heap Size")
+		int heapSize;
+	}
+
+	@Name("maxheap.Resize")
+	@Label("Heap Resize")
+	@Category("MaxHeap")
+	@Description("A reallocation of a MaxHeap's array")
+	@StackTrace(false)
+	static class ResizeEvent extends Event {
+		@Label("Old Capacity")
+		int oldCapacity;
+		@Label("New Capacity")
+		int newCapacity;
+	}
+}
@@ -1,7 +1,23 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
 /**
  * A unit test class for a MaxHeap data structure, testing
  * the following methods: heapExtractMax, maxHeapInsert, 
- * and maxHeapify.
+ * and maxHeapify, heapIncreaseKey, heapSort, the bulk
+ * buildMaxHeap, enqueueAll and dequeueBatch, and runAlone.
+ * Every scenario is run on heaps of arity 2, 4 and 8.
+ * IndexedMaxHeap's operations by Process id, insert,
+ * increaseKey, decreaseKey, remove and contains, are tested
+ * on their own, as are PairingHeap's increaseKey and meld,
+ * PairingPriorityQueue's handles and meld,
+ * meld on MaxHeap and LeftistHeap, the static heapSort, TopK,
+ * and the dispatch order of ExternalPriorityQueue and
+ * OffHeapPriorityQueue.
  * 
  * @Notes Transformed from Mason Vail's LinkedList unit test class format.
  * @author mvail, mhthomas, amussell, Peyton Lundquist
@@ -30,7 +46,7 @@ public class HeapTester {
 	private enum Result {
 		IndexOutOfBounds, IllegalState, NoSuchElement,
 		ConcurrentModification, UnsupportedOperation, HeapUnderFlow,
-		NoException, UnexpectedException,
+		NoException, UnexpectedException, Heap, IllegalArgument,
 		True, False, Pass, Fail, 
 		MatchingValue,
 		ValidString
@@ -105,11 +121,32 @@ public class HeapTester {
 	private boolean printFailuresOnly = true;
 	private boolean printSectionSummaries = true;
 	
+	// Heap arities every scenario is run with, and the current one
+	private static final int[] ARITIES = {2, 4, 8};
+	private int arity = 2;
+	
 	/////////////////////
 	// XXX runTests()
 	/////////////////////
 	
 	private void runTests() {
+		for (int d : ARITIES) {
+			arity = d;
+			System.out.printf("\nARITY: %d\n", arity);
+			runScenarios();
+			testRandomHeap("arity" + arity + "_randomHeap");
+		}
+		testIndexedHeap("indexedHeap");
+		testPairingHeap("pairingHeap");
+		testLeftistHeap("leftistHeap");
+		testSorting("sorting");
+		testRecordQueues("recordQueues");
+		// Final Summary
+		printFinalSummary();
+	}
+	
+	/** Run every scenario on heaps of the current arity */
+	private void runScenarios() {
 		//Possible heap contents after a scenario has been set up
 		Process[] LIST_A = {PROCESS_A};
 		String STRING_A = "A";
@@ -167,8 +204,6 @@ public class HeapTester {
 		testTwoElementHeap(ADC_heapExtractMax_DC, "ADC_heapExtractMax_DC", LIST_DC, STRING_DC);
 		testTwoElementHeap(BDC_heapExtractMax_DC, "BDC_heapExtractMax_DC", LIST_DC, STRING_DC);
 		testTwoElementHeap(ABD_heapExtractMax_BD, "ABD_heapExtractMax_BD", LIST_BD, STRING_BD);
-		// Final Summary
-		printFinalSummary();
 	}
 
 	//////////////////////////////////////
@@ -180,7 +215,7 @@ public class HeapTester {
 	 * @return New heap
 	 */
 	private MaxHeap newMaxHeap() {
-		MaxHeap maxHeap = new MaxHeap();
+		MaxHeap maxHeap = new MaxHeap(arity);
 		return maxHeap;
 	}
 
@@ -672,6 +707,199 @@ public class HeapTester {
 		}
 	}
 
+	///////////////////////////////////
+	//XXX Tests for larger random heaps
+	///////////////////////////////////
+	
+	/** Run the tests on heaps of the current arity filled with random priorities,
+	 * sized to fill one level, spill into the next, and span several
+	 * @param scenarioName name of the scenario being tested
+	 */
+	private void testRandomHeap(String scenarioName) {
+		System.out.printf("\nSCENARIO: %s\n\n", scenarioName);
+		try {
+			int[] sizes = {1, arity, arity + 1, 100, 1000};
+			for (int n : sizes) {
+				printTest(scenarioName + "_testInsertExtractOrder_" + n, testInsertExtractOrder(n, Result.MatchingValue));
+				printTest(scenarioName + "_testBuildMaxHeap_" + n, testBuildMaxHeap(n, Result.MatchingValue));
+				printTest(scenarioName + "_testEnqueueAllFew_" + n, testEnqueueAll(n, 3, Result.MatchingValue));
+				printTest(scenarioName + "_testEnqueueAllMany_" + n, testEnqueueAll(n, 2 * n + 10, Result.MatchingValue));
+				printTest(scenarioName + "_testDequeueBatch_" + n, testDequeueBatch(n, arity, Result.MatchingValue));
+				printTest(scenarioName + "_testDequeueBatchHalf_" + n, testDequeueBatch(n, n / 2, Result.MatchingValue));
+				printTest(scenarioName + "_testDequeueBatchAll_" + n, testDequeueBatch(n, n + 1, Result.MatchingValue));
+				printTest(scenarioName + "_testHeapSort_" + n, testHeapSort(n, Result.MatchingValue));
+			}
+			printTest(scenarioName + "_testBuildMaxHeap_0", testBuildMaxHeap(0, Result.MatchingValue));
+			printTest(scenarioName + "_testHeapIncreaseKeyLast", testHeapIncreaseKey(99, 50, Result.True));
+			printTest(scenarioName + "_testHeapIncreaseKeyMiddle", testHeapIncreaseKey(40, 50, Result.True));
+			printTest(scenarioName + "_testHeapIncreaseKeySame", testHeapIncreaseKey(40, -1, Result.True));
+			printTest(scenarioName + "_testHeapIncreaseKeySmaller", testHeapIncreaseKey(40, 0, Result.False));
+			printTest(scenarioName + "_testMeldFew", testMaxHeapMeld(1000, 5, arity, Result.MatchingValue));
+			printTest(scenarioName + "_testMeldMany", testMaxHeapMeld(5, 1000, arity, Result.MatchingValue));
+			printTest(scenarioName + "_testMeldBinary", testMaxHeapMeld(300, 300, 2, Result.MatchingValue));
+			printTest(scenarioName + "_testMeldIntoEmpty", testMaxHeapMeld(0, 100, arity, Result.MatchingValue));
+			printTest(scenarioName + "_testMeldEmpty", testMaxHeapMeld(100, 0, arity, Result.MatchingValue));
+			printTest(scenarioName + "_testRunAlone", testRunAlone(Result.MatchingValue));
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE %s***\n", scenarioName + " TESTS");
+			e.printStackTrace();
+		} finally {
+			if (printSectionSummaries) {
+				printSectionSummary();
+			}
+		}
+	}
+
+	//////////////////////////////////
+	//XXX Tests for IndexedMaxHeap
+	//////////////////////////////////
+	
+	/** Run the tests of the operations by Process id on an IndexedMaxHeap
+	 * of 100 Processes with random priorities
+	 * @param scenarioName name of the scenario being tested
+	 */
+	private void testIndexedHeap(String scenarioName) {
+		System.out.printf("\nSCENARIO: %s\n\n", scenarioName);
+		try {
+			printTest(scenarioName + "_testContains", testIndexedContains(Result.True));
+			printTest(scenarioName + "_testRemoveMiddle", testIndexedRemoveMiddle(Result.MatchingValue));
+			printTest(scenarioName + "_testRemoveAbsent", testIndexedRemoveAbsent(Result.MatchingValue));
+			printTest(scenarioName + "_testIncreaseKey", testIndexedIncreaseKey(5, 50, Result.MatchingValue));
+			printTest(scenarioName + "_testIncreaseKeySmaller", testIndexedIncreaseKey(5, 0, Result.Heap));
+			printTest(scenarioName + "_testDecreaseKeyThenExtract", testIndexedDecreaseKey(0, Result.MatchingValue));
+			printTest(scenarioName + "_testDecreaseKeyLarger", testIndexedDecreaseKey(50, Result.Heap));
+			printTest(scenarioName + "_testInsertDuplicate", testIndexedInsertDuplicate(Result.Heap));
+			printTest(scenarioName + "_testEnqueueDuplicate", testIndexedEnqueueDuplicate(Result.IllegalArgument));
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE %s***\n", scenarioName + " TESTS");
+			e.printStackTrace();
+		} finally {
+			if (printSectionSummaries) {
+				printSectionSummary();
+			}
+		}
+	}
+
+	//////////////////////////////////
+	//XXX Tests for PairingHeap
+	//////////////////////////////////
+	
+	/** Run the tests of increaseKey and meld on PairingHeaps of Processes
+	 * with random priorities
+	 * @param scenarioName name of the scenario being tested
+	 */
+	private void testPairingHeap(String scenarioName) {
+		System.out.printf("\nSCENARIO: %s\n\n", scenarioName);
+		try {
+			printTest(scenarioName + "_testInsertExtractOrder", testPairingIncreaseKey(-1, Result.True));
+			printTest(scenarioName + "_testIncreaseKey", testPairingIncreaseKey(50, Result.True));
+			printTest(scenarioName + "_testIncreaseKeySame", testPairingIncreaseKey(0, Result.True));
+			printTest(scenarioName + "_testIncreaseKeySmaller", testPairingIncreaseKey(-2, Result.False));
+			printTest(scenarioName + "_testMeld", testPairingMeld(60, 40, Result.MatchingValue));
+			printTest(scenarioName + "_testMeldIntoEmpty", testPairingMeld(0, 40, Result.MatchingValue));
+			printTest(scenarioName + "_testMeldEmpty", testPairingMeld(60, 0, Result.MatchingValue));
+			printTest(scenarioName + "_testQueueMeld", testPairingQueueMeld(60, 40, Result.MatchingValue));
+			printTest(scenarioName + "_testQueueMeldIntoEmpty", testPairingQueueMeld(0, 40, Result.MatchingValue));
+			printTest(scenarioName + "_testQueueMeldEmpty", testPairingQueueMeld(60, 0, Result.MatchingValue));
+			printTest(scenarioName + "_testQueueIncreaseKey", testPairingQueueIncreaseKey(false, Result.True));
+			printTest(scenarioName + "_testQueueIncreaseKeyDequeued", testPairingQueueIncreaseKey(true, Result.IllegalArgument));
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE %s***\n", scenarioName + " TESTS");
+			e.printStackTrace();
+		} finally {
+			if (printSectionSummaries) {
+				printSectionSummary();
+			}
+		}
+	}
+
+	//////////////////////////////////
+	//XXX Tests for LeftistHeap
+	//////////////////////////////////
+	
+	/** Run the tests of meld on LeftistHeaps of Processes with random priorities
+	 * @param scenarioName name of the scenario being tested
+	 */
+	private void testLeftistHeap(String scenarioName) {
+		System.out.printf("\nSCENARIO: %s\n\n", scenarioName);
+		try {
+			printTest(scenarioName + "_testMeld", testLeftistMeld(600, 400, Result.MatchingValue));
+			printTest(scenarioName + "_testMeldFew", testLeftistMeld(1000, 3, Result.MatchingValue));
+			printTest(scenarioName + "_testMeldIntoEmpty", testLeftistMeld(0, 100, Result.MatchingValue));
+			printTest(scenarioName + "_testMeldEmpty", testLeftistMeld(100, 0, Result.MatchingValue));
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE %s***\n", scenarioName + " TESTS");
+			e.printStackTrace();
+		} finally {
+			if (printSectionSummaries) {
+				printSectionSummary();
+			}
+		}
+	}
+
+	//////////////////////////////////
+	//XXX Tests for heapSort and TopK
+	//////////////////////////////////
+	
+	/** Run the tests of the static heapSort and of TopK on arrays of Processes
+	 * with random priorities
+	 * @param scenarioName name of the scenario being tested
+	 */
+	private void testSorting(String scenarioName) {
+		System.out.printf("\nSCENARIO: %s\n\n", scenarioName);
+		try {
+			int[] sizes = {0, 1, 2, 100, 1000};
+			for (int n : sizes) {
+				printTest(scenarioName + "_testStaticHeapSort_" + n, testStaticHeapSort(n, Result.MatchingValue));
+				printTest(scenarioName + "_testTopK_" + n, testTopK(n, 10, Result.MatchingValue));
+			}
+			printTest(scenarioName + "_testParallelHeapSortDuplicates", testParallelHeapSort(false, Result.MatchingValue));
+			printTest(scenarioName + "_testParallelStaticHeapSortDuplicates", testParallelHeapSort(true, Result.MatchingValue));
+			printTest(scenarioName + "_testTopKOne", testTopK(100, 1, Result.MatchingValue));
+			printTest(scenarioName + "_testTopKAll", testTopK(100, 100, Result.MatchingValue));
+			printTest(scenarioName + "_testTopKZero", testTopK(100, 0, Result.IllegalArgument));
+			printTest(scenarioName + "_testHighestPriority", testHighestPriority(Result.MatchingValue));
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE %s***\n", scenarioName + " TESTS");
+			e.printStackTrace();
+		} finally {
+			if (printSectionSummaries) {
+				printSectionSummary();
+			}
+		}
+	}
+
+	/////////////////////////////////////////////////////////////////
+	//XXX Tests for ExternalPriorityQueue and OffHeapPriorityQueue
+	/////////////////////////////////////////////////////////////////
+	
+	/** Run the tests comparing the queues that rebuild the Processes they
+	 * return from records with MyPriorityQueue, ExternalPriorityQueue at
+	 * memory budgets small enough to spill, merge and age runs all the time
+	 * @param scenarioName name of the scenario being tested
+	 */
+	private void testRecordQueues(String scenarioName) {
+		System.out.printf("\nSCENARIO: %s\n\n", scenarioName);
+		try {
+			int[] budgets = {2, 3, 17};
+			for (int budget : budgets) {
+				printTest(scenarioName + "_testDispatchOrder_" + budget, testExternalOrder(budget, 2, 5, Result.MatchingValue));
+			}
+			printTest(scenarioName + "_testDispatchOrderLongPeriod", testExternalOrder(3, 7, 10, Result.MatchingValue));
+			printTest(scenarioName + "_testDispatchOrderNoAging", testExternalOrder(3, 0, 10, Result.MatchingValue));
+			printTest(scenarioName + "_testOffHeapDispatchOrder", testOffHeapOrder(2, false, Result.MatchingValue));
+			printTest(scenarioName + "_testOffHeapDispatchOrderNoAging", testOffHeapOrder(0, false, Result.MatchingValue));
+			printTest(scenarioName + "_testOffHeapDispatchOrderPooled", testOffHeapOrder(2, true, Result.MatchingValue));
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE %s***\n", scenarioName + " TESTS");
+			e.printStackTrace();
+		} finally {
+			if (printSectionSummaries) {
+				printSectionSummary();
+			}
+		}
+	}
+
 	////////////////////////////
 	// XXX LIST TEST METHODS
 	////////////////////////////
@@ -738,6 +966,1025 @@ public class HeapTester {
 		}
 		return result == expectedResult;
 	}
+	
+	/** Inserts n Processes with random priorities into an empty heap, one at a
+	 * time, and checks that heapExtractMax returns them in priority order
+	 * @param n number of Processes
+	 * @param expectedResult
+	 * @return test success
+	 */
+	private boolean testInsertExtractOrder(int n, Result expectedResult) {
+		Result result;
+		try {
+			MaxHeap maxHeap = newMaxHeap();
+			Process[] processes = randomProcesses(n, n);
+			for (Process p : processes) {
+				maxHeap.maxHeapInsert(p);
+			}
+			if (isMaxHeap(maxHeap) && drainsInOrder(maxHeap, sortedDescending(processes))) {
+				result = Result.MatchingValue;
+			} else {
+				result = Result.Fail;
+			}
+		} catch (Exception e) {
+			System.out.printf("%s caught unexpected %s\n", "testInsertExtractOrder", e.toString());
+			e.printStackTrace();
+			result = Result.UnexpectedException;
+		}
+		return result == expectedResult;
+	}
+
+	/** Builds a heap from an array of n Processes with random priorities with
+	 * buildMaxHeap, and checks the heap and its extraction order
+	 * @param n number of Processes
+	 * @param expectedResult
+	 * @return test success
+	 */
+	private boolean testBuildMaxHeap(int n, Result expectedResult) {
+		Result result;
+		try {
+			MaxHeap maxHeap = newMaxHeap();
+			Process[] processes = randomProcesses(n, n + 1);
+			maxHeap.buildMaxHeap(processes);
+			if (isMaxHeap(maxHeap) && drainsInOrder(maxHeap, sortedDescending(processes))) {
+				result = Result.MatchingValue;
+			} else {
+				result = Result.Fail;
+			}
+		} catch (Exception e) {
+			System.out.printf("%s caught unexpected %s\n", "testBuildMaxHeap", e.toString());
+			e.printStackTrace();
+			result = Result.UnexpectedException;
+		}
+		return result == expectedResult;
+	}
+
+	/** Adds k Processes to a queue of n with enqueueAll, few enough to be inserted
+	 * one at a time or enough to rebuild the heap, and checks the heap and its
+	 * extraction order
+	 * @param n number of Processes queued first
+	 * @param k number of Processes added by enqueueAll
+	 * @param expectedResult
+	 * @return test success
+	 */
+	private boolean testEnqueueAll(int n, int k, Result expectedResult) {
+		Result result;
+		try {
+			MyPriorityQueue queue = new MyPriorityQueue(arity);
+			Process[] processes = randomProcesses(n + k, n + k);
+			for (int i = 0; i < n; i++) {
+				queue.enqueue(processes[i]);
+			}
+			queue.enqueueAll(Arrays.asList(processes).subList(n, n + k));
+			if (isMaxHeap(queue) && drainsInOrder(queue, sortedDescending(processes))) {
+				result = Result.MatchingValue;
+			} else {
+				result = Result.Fail;
+			}
+		} catch (Exception e) {
+			System.out.printf("%s caught unexpected %s\n", "testEnqueueAll", e.toString());
+			e.printStackTrace();
+			result = Result.UnexpectedException;
+		}
+		return result == expectedResult;
+	}
+
+	/** Takes up to k Processes from a queue of n with dequeueBatch, and checks
+	 * the count, that they are the k highest in order, and the rest of the queue
+	 * @param n number of Processes queued
+	 * @param k number of Processes asked for
+	 * @param expectedResult
+	 * @return test success
+	 */
+	private boolean testDequeueBatch(int n, int k, Result expectedResult) {
+		Result result;
+		try {
+			MyPriorityQueue queue = new MyPriorityQueue(arity);
+			Process[] processes = randomProcesses(n, n + 2);
+			for (Process p : processes) {
+				queue.enqueue(p);
+			}
+			List<Process> batch = new ArrayList<Process>();
+			int taken = queue.dequeueBatch(k, batch::add);
+			Process[] expected = sortedDescending(processes);
+			int m = Math.min(k, n);
+			if (taken == m && batch.equals(Arrays.asList(expected).subList(0, m)) && isMaxHeap(queue)
+					&& drainsInOrder(queue, Arrays.copyOfRange(expected, m, n))) {
+				result = Result.MatchingValue;
+			} else {
+				result = Result.Fail;
+			}
+		} catch (Exception e) {
+			System.out.printf("%s caught unexpected %s\n", "testDequeueBatch", e.toString());
+			e.printStackTrace();
+			result = Result.UnexpectedException;
+		}
+		return result == expectedResult;
+	}
+
+	/** Fills a heap of the current arity with n Processes with random priorities
+	 * and sorts it with heapSort, then checks that the returned array holds them
+	 * lowest first and the heap is left empty
+	 * @param n number of Processes
+	 * @param expectedResult
+	 * @return test success
+	 */
+	private boolean testHeapSort(int n, Result expectedResult) {
+		Result result;
+		try {
+			MaxHeap maxHeap = newMaxHeap();
+			Process[] processes = randomProcesses(n, n + 3);
+			for (Process p : processes) {
+				maxHeap.maxHeapInsert(p);
+			}
+			Process[] sorted = maxHeap.heapSort();
+			Arrays.sort(processes);
+			if (maxHeap.getHeapSize() == 0 && maxHeap.heapMaximum() == null
+					&& Arrays.equals(Arrays.copyOf(sorted, n), processes)) {
+				result = Result.MatchingValue;
+			} else {
+				result = Result.Fail;
+			}
+		} catch (Exception e) {
+			System.out.printf("%s caught unexpected %s\n", "testHeapSort", e.toString());
+			e.printStackTrace();
+			result = Result.UnexpectedException;
+		}
+		return result == expectedResult;
+	}
+
+	/** Calls heapIncreaseKey on the Process at index i of a heap of 100 Processes
+	 * with random priorities, and checks its return value, that a rejected key
+	 * changes nothing, and that the heap extracts in priority order after
+	 * @param i index of the Process
+	 * @param key new priority key, or -1 for the Process's current priority
+	 * @param expectedResult True if the key should be accepted, False if not
+	 * @return test success
+	 */
+	private boolean testHeapIncreaseKey(int i, int key, Result expectedResult) {
+		Result result;
+		try {
+			MaxHeap maxHeap = newMaxHeap();
+			Process[] processes = randomProcesses(100, 11);
+			maxHeap.buildMaxHeap(processes);
+			Process p = maxHeap.getHeap()[i];
+			int before = p.getPriority();
+			if (key < 0) {
+				key = before;
+			}
+			result = maxHeap.heapIncreaseKey(i, p, key) ? Result.True : Result.False;
+			if (p.getPriority() != (result == Result.True ? key : before) || !isMaxHeap(maxHeap)
+					|| !drainsInOrder(maxHeap, sortedDescending(processes))) {
+				result = Result.Fail;
+			}
+		} catch (Exception e) {
+			System.out.printf("%s caught unexpected %s\n", "testHeapIncreaseKey", e.toString());
+			e.printStackTrace();
+			result = Result.UnexpectedException;
+		}
+		return result == expectedResult;
+	}
+
+	/** Melds a heap of m Processes and the given arity into one of n Processes
+	 * and the current arity, then checks that the other heap is empty, and the
+	 * melded heap's size, max-heap property and extraction order
+	 * @param n number of Processes in the heap melded into
+	 * @param m number of Processes in the heap melded in
+	 * @param otherArity arity of the heap melded in
+	 * @param expectedResult
+	 * @return test success
+	 */
+	private boolean testMaxHeapMeld(int n, int m, int otherArity, Result expectedResult) {
+		Result result;
+		try {
+			Process[] processes = randomProcesses(n + m, n * 7 + m);
+			MaxHeap maxHeap = newMaxHeap();
+			MaxHeap other = new MaxHeap(otherArity);
+			for (int i = 0; i < n + m; i++) {
+				if (i < n) {
+					maxHeap.maxHeapInsert(processes[i]);
+				} else {
+					other.maxHeapInsert(processes[i]);
+				}
+			}
+			maxHeap.meld(other);
+			maxHeap.meld(maxHeap);
+			if (other.getHeapSize() == 0 && other.heapMaximum() == null && isMaxHeap(maxHeap)
+					&& drainsInOrder(maxHeap, sortedDescending(processes))) {
+				result = Result.MatchingValue;
+			} else {
+				result = Result.Fail;
+			}
+		} catch (Exception e) {
+			System.out.printf("%s caught unexpected %s\n", "testMaxHeapMeld", e.toString());
+			e.printStackTrace();
+			result = Result.UnexpectedException;
+		}
+		return result == expectedResult;
+	}
+
+	/** Runs a lone Process for 7 time units with MyPriorityQueue's runAlone,
+	 * and another with the step-by-step default of the interface, through a
+	 * SynchronizedPriorityQueue, and checks that both end in the same state
+	 * @param expectedResult
+	 * @return test success
+	 */
+	private boolean testRunAlone(Result expectedResult) {
+		Result result;
+		try {
+			Process jumped = new Process(0, 10, 3);
+			Process stepped = new Process(0, 10, 3);
+			MyPriorityQueue queue = new MyPriorityQueue(arity);
+			SynchronizedPriorityQueue steps = new SynchronizedPriorityQueue(new MyPriorityQueue(arity));
+			jumped = queue.runAlone(jumped, 7, 2, 10);
+			stepped = steps.runAlone(stepped, 7, 2, 10);
+			if (queue.isEmpty() && steps.isEmpty() && jumped.getTimeRemaining() == 3
+					&& stepped.getTimeRemaining() == 3 && jumped.getPriority() == stepped.getPriority()
+					&& jumped.getWaitingTime() == stepped.getWaitingTime()) {
+				result = Result.MatchingValue;
+			} else {
+				result = Result.Fail;
+			}
+		} catch (Exception e) {
+			System.out.printf("%s caught unexpected %s\n", "testRunAlone", e.toString());
+			e.printStackTrace();
+			result = Result.UnexpectedException;
+		}
+		return result == expectedResult;
+	}
+
+	/** Checks contains for every queued id and for one that was never queued
+	 * @param expectedResult
+	 * @return test success
+	 */
+	private boolean testIndexedContains(Result expectedResult) {
+		Result result;
+		try {
+			Process[] processes = randomProcesses(100, 5);
+			IndexedMaxHeap heap = newIndexedHeap(processes);
+			result = !heap.contains(-1) ? Result.True : Result.False;
+			for (Process p : processes) {
+				if (!heap.contains(p.getId()) || heap.get(p.getId()) != p) {
+					result = Result.False;
+				}
+			}
+		} catch (Exception e) {
+			System.out.printf("%s caught unexpected %s\n", "testIndexedContains", e.toString());
+			e.printStackTrace();
+			result = Result.UnexpectedException;
+		}
+		return result == expectedResult;
+	}
+
+	/** Removes every third Process, most from the middle of the heap, and checks
+	 * that only the rest are contained and extracted, in priority order
+	 * @param expectedResult
+	 * @return test success
+	 */
+	private boolean testIndexedRemoveMiddle(Result expectedResult) {
+		Result result;
+		try {
+			Process[] processes = randomProcesses(100, 6);
+			IndexedMaxHeap heap = newIndexedHeap(processes);
+			Process[] kept = new Process[processes.length - (processes.length + 2) / 3];
+			int k = 0;
+			result = Result.MatchingValue;
+			for (int i = 0; i < processes.length; i++) {
+				if (i % 3 == 0) {
+					if (heap.remove(processes[i].getId()) != processes[i] || heap.contains(processes[i].getId())) {
+						result = Result.Fail;
+					}
+				} else {
+					kept[k++] = processes[i];
+				}
+			}
+			if (!drainsInOrder(heap, sortedDescending(kept))) {
+				result = Result.Fail;
+			}
+		} catch (Exception e) {
+			System.out.printf("%s caught unexpected %s\n", "testIndexedRemoveMiddle", e.toString());
+			e.printStackTrace();
+			result = Result.UnexpectedException;
+		}
+		return result == expectedResult;
+	}
+
+	/** Removes an id that is not in the heap, which should return null and change nothing
+	 * @param expectedResult
+	 * @return test success
+	 */
+	private boolean testIndexedRemoveAbsent(Result expectedResult) {
+		Result result;
+		try {
+			Process[] processes = randomProcesses(10, 7);
+			IndexedMaxHeap heap = newIndexedHeap(processes);
+			if (heap.remove(-1) == null && drainsInOrder(heap, sortedDescending(processes))) {
+				result = Result.MatchingValue;
+			} else {
+				result = Result.Fail;
+			}
+		} catch (Exception e) {
+			System.out.printf("%s caught unexpected %s\n", "testIndexedRemoveAbsent", e.toString());
+			e.printStackTrace();
+			result = Result.UnexpectedException;
+		}
+		return result == expectedResult;
+	}
+
+	/** Sets the key of the Process at position i of the insertion order with
+	 * increaseKey, then checks that the heap extracts in priority order
+	 * @param i position of the Process in the insertion order
+	 * @param key new priority key
+	 * @param expectedResult
+	 * @return test success
+	 */
+	private boolean testIndexedIncreaseKey(int i, int key, Result expectedResult) {
+		Result result;
+		try {
+			Process[] processes = randomProcesses(100, 8);
+			IndexedMaxHeap heap = newIndexedHeap(processes);
+			heap.increaseKey(processes[i].getId(), key);
+			if (heap.maximum() == processes[i] && drainsInOrder(heap, sortedDescending(processes))) {
+				result = Result.MatchingValue;
+			} else {
+				result = Result.Fail;
+			}
+		} catch (HeapException e) {
+			result = Result.Heap;
+		} catch (Exception e) {
+			System.out.printf("%s caught unexpected %s\n", "testIndexedIncreaseKey", e.toString());
+			e.printStackTrace();
+			result = Result.UnexpectedException;
+		}
+		return result == expectedResult;
+	}
+
+	/** Lowers the key of the heap's maximum with decreaseKey, then checks that
+	 * it is no longer extracted first and the heap extracts in priority order
+	 * @param key new priority key
+	 * @param expectedResult
+	 * @return test success
+	 */
+	private boolean testIndexedDecreaseKey(int key, Result expectedResult) {
+		Result result;
+		try {
+			Process[] processes = randomProcesses(100, 9);
+			IndexedMaxHeap heap = newIndexedHeap(processes);
+			Process max = heap.maximum();
+			heap.decreaseKey(max.getId(), key);
+			Process[] expected = sortedDescending(processes);
+			if (expected[expected.length - 1] == max && heap.extractMax() == expected[0]
+					&& drainsInOrder(heap, Arrays.copyOfRange(expected, 1, expected.length))) {
+				result = Result.MatchingValue;
+			} else {
+				result = Result.Fail;
+			}
+		} catch (HeapException e) {
+			result = Result.Heap;
+		} catch (Exception e) {
+			System.out.printf("%s caught unexpected %s\n", "testIndexedDecreaseKey", e.toString());
+			e.printStackTrace();
+			result = Result.UnexpectedException;
+		}
+		return result == expectedResult;
+	}
+
+	/** Inserts a Process whose id is already in the heap
+	 * @param expectedResult
+	 * @return test success
+	 */
+	private boolean testIndexedInsertDuplicate(Result expectedResult) {
+		Result result;
+		try {
+			Process[] processes = randomProcesses(10, 10);
+			IndexedMaxHeap heap = newIndexedHeap(processes);
+			heap.insert(processes[3]);
+			result = Result.NoException;
+		} catch (HeapException e) {
+			result = Result.Heap;
+		} catch (Exception e) {
+			System.out.printf("%s caught unexpected %s\n", "testIndexedInsertDuplicate", e.toString());
+			e.printStackTrace();
+			result = Result.UnexpectedException;
+		}
+		return result == expectedResult;
+	}
+
+	/** Enqueues a Process whose id is already in an IndexedPriorityQueue, which
+	 * must be rejected rather than lost
+	 * @param expectedResult
+	 * @return test success
+	 */
+	private boolean testIndexedEnqueueDuplicate(Result expectedResult) {
+		Result result;
+		try {
+			IndexedPriorityQueue queue = new IndexedPriorityQueue();
+			queue.enqueue(PROCESS_A);
+			queue.enqueue(PROCESS_A);
+			result = Result.NoException;
+		} catch (IllegalArgumentException e) {
+			result = Result.IllegalArgument;
+		} catch (Exception e) {
+			System.out.printf("%s caught unexpected %s\n", "testIndexedEnqueueDuplicate", e.toString());
+			e.printStackTrace();
+			result = Result.UnexpectedException;
+		}
+		return result == expectedResult;
+	}
+
+	/** Inserts 100 Processes with random priorities into a PairingHeap and
+	 * extracts 10, so that the rest form a tree of several levels. Then changes
+	 * the key of every third of them through its handle and checks that the
+	 * heap extracts the rest in priority order
+	 * @param change 50 to raise each key to 50, 0 to keep it, -2 to lower it
+	 * by one, or -1 to change nothing
+	 * @param expectedResult True if the keys should be accepted, False if not
+	 * @return test success
+	 */
+	private boolean testPairingIncreaseKey(int change, Result expectedResult) {
+		Result result;
+		try {
+			Process[] processes = randomProcesses(100, 12);
+			PairingHeap heap = new PairingHeap();
+			PairingHeap.Node[] nodes = new PairingHeap.Node[processes.length];
+			for (int i = 0; i < processes.length; i++) {
+				nodes[i] = heap.insert(processes[i]);
+			}
+			Process[] expected = sortedDescending(processes);
+			for (int i = 0; i < 10; i++) {
+				if (heap.extractMax() != expected[i]) {
+					return false;
+				}
+			}
+			List<Process> rest = new ArrayList<Process>(Arrays.asList(expected).subList(10, expected.length));
+			result = Result.True;
+			for (int i = 0; i < nodes.length && change != -1; i += 3) {
+				Process p = nodes[i].getProcess();
+				if (!rest.contains(p)) {
+					continue;
+				}
+				int before = p.getPriority();
+				int key = (change == 50) ? 50 : before + (change == 0 ? 0 : -1);
+				boolean accepted = heap.increaseKey(nodes[i], key);
+				if (!accepted) {
+					result = Result.False;
+				}
+				if (p.getPriority() != (accepted ? key : before)) {
+					result = Result.Fail;
+				}
+			}
+			if (!drainsInOrder(heap, sortedDescending(rest.toArray(new Process[0])))) {
+				result = Result.Fail;
+			}
+		} catch (Exception e) {
+			System.out.printf("%s caught unexpected %s\n", "testPairingIncreaseKey", e.toString());
+			e.printStackTrace();
+			result = Result.UnexpectedException;
+		}
+		return result == expectedResult;
+	}
+
+	/** Melds a PairingHeap of m Processes into one of n, then checks that the
+	 * other heap is empty, that a handle from it still raises its Process to
+	 * the top, and that the heap extracts every Process in priority order
+	 * @param n number of Processes in the heap melded into
+	 * @param m number of Processes in the heap melded in
+	 * @param expectedResult
+	 * @return test success
+	 */
+	private boolean testPairingMeld(int n, int m, Result expectedResult) {
+		Result result;
+		try {
+			Process[] processes = randomProcesses(n + m, 13);
+			PairingHeap heap = new PairingHeap();
+			PairingHeap other = new PairingHeap();
+			PairingHeap.Node last = null;
+			for (int i = 0; i < n + m; i++) {
+				if (i < n) {
+					heap.insert(processes[i]);
+				} else {
+					last = other.insert(processes[i]);
+				}
+			}
+			heap.meld(other);
+			heap.meld(heap);
+			result = Result.MatchingValue;
+			if (heap.getHeapSize() != n + m || other.getHeapSize() != 0 || other.maximum() != null) {
+				result = Result.Fail;
+			}
+			if (last != null && (!heap.increaseKey(last, 50) || heap.maximum() != last.getProcess())) {
+				result = Result.Fail;
+			}
+			if (!drainsInOrder(heap, sortedDescending(processes))) {
+				result = Result.Fail;
+			}
+		} catch (Exception e) {
+			System.out.printf("%s caught unexpected %s\n", "testPairingMeld", e.toString());
+			e.printStackTrace();
+			result = Result.UnexpectedException;
+		}
+		return result == expectedResult;
+	}
+
+	/** Fills two PairingPriorityQueues and two MyPriorityQueues alike, ages
+	 * each pair a different number of times, melds the second of each pair
+	 * into the first, then checks that both melded queues, and both emptied
+	 * ones, dequeue alike through a random mix of enqueues, dequeues and updates
+	 * @param n number of Processes in the queue melded into
+	 * @param m number of Processes in the queue melded in
+	 * @param expectedResult
+	 * @return test success
+	 */
+	private boolean testPairingQueueMeld(int n, int m, Result expectedResult) {
+		Result result;
+		try {
+			Process[] processes = randomProcesses(n + m, 21);
+			PairingPriorityQueue queue = new PairingPriorityQueue();
+			PairingPriorityQueue other = new PairingPriorityQueue();
+			MyPriorityQueue expected = new MyPriorityQueue(arity);
+			MyPriorityQueue expectedOther = new MyPriorityQueue(arity);
+			for (int i = 0; i < n + m; i++) {
+				Process p = processes[i];
+				(i < n ? queue : other).enqueue(p);
+				(i < n ? expected : expectedOther).enqueue(new Process(p.getId(), p.getArrivalTime(),
+						p.getServiceTime(), p.getTimeRemaining(), p.getPriority()));
+			}
+			Process running = new Process(-1, 1, 1);
+			for (int i = 0; i < 7; i++) {
+				if (i < 3) {
+					queue.update(running, 2, 10);
+					expected.update(running, 2, 10);
+				}
+				other.update(running, 2, 10);
+				expectedOther.update(running, 2, 10);
+			}
+			queue.meld(other);
+			expected.meld((PriorityQueueInterface) expectedOther);
+			result = Result.MatchingValue;
+			if (queue.size() != n + m || !other.isEmpty()) {
+				result = Result.Fail;
+			}
+			if (!dispatchesLike(queue, expected, n + m, 22, 2, 10)
+					|| !dispatchesLike(other, expectedOther, 10000, 23, 2, 10)) {
+				result = Result.Fail;
+			}
+		} catch (Exception e) {
+			System.out.printf("%s caught unexpected %s\n", "testPairingQueueMeld", e.toString());
+			e.printStackTrace();
+			result = Result.UnexpectedException;
+		}
+		return result == expectedResult;
+	}
+
+	/** Inserts 100 Processes with random priorities into a PairingPriorityQueue
+	 * and raises the priority of the last one to the top through its handle,
+	 * or, if dequeued is true, through the handle of a Process already dequeued
+	 * @param dequeued whether the handle's Process is dequeued first
+	 * @param expectedResult
+	 * @return test success
+	 */
+	private boolean testPairingQueueIncreaseKey(boolean dequeued, Result expectedResult) {
+		Result result;
+		try {
+			Process[] processes = randomProcesses(100, 24);
+			PairingPriorityQueue queue = new PairingPriorityQueue();
+			PairingHeap.Node handle = null;
+			for (Process p : processes) {
+				handle = queue.insert(p);
+			}
+			Process last = processes[processes.length - 1];
+			if (dequeued) {
+				while (queue.dequeue() != last) {
+				}
+			}
+			result = (queue.increaseKey(handle, 50) && queue.dequeue() == last) ? Result.True : Result.False;
+		} catch (IllegalArgumentException e) {
+			result = Result.IllegalArgument;
+		} catch (Exception e) {
+			System.out.printf("%s caught unexpected %s\n", "testPairingQueueIncreaseKey", e.toString());
+			e.printStackTrace();
+			result = Result.UnexpectedException;
+		}
+		return result == expectedResult;
+	}
+
+	/** Melds a LeftistHeap of m Processes into one of n, then checks that the
+	 * other heap is empty, that the melded tree is heap-ordered and leftist
+	 * with correct ranks and parent links, and its extraction order
+	 * @param n number of Processes in the heap melded into
+	 * @param m number of Processes in the heap melded in
+	 * @param expectedResult
+	 * @return test success
+	 */
+	private boolean testLeftistMeld(int n, int m, Result expectedResult) {
+		Result result;
+		try {
+			Process[] processes = randomProcesses(n + m, n * 7 + m);
+			LeftistHeap heap = new LeftistHeap();
+			LeftistHeap other = new LeftistHeap();
+			for (int i = 0; i < n + m; i++) {
+				if (i < n) {
+					heap.insert(processes[i]);
+				} else {
+					other.insert(processes[i]);
+				}
+			}
+			heap.meld(other);
+			heap.meld(heap);
+			if (other.getHeapSize() == 0 && other.maximum() == null && heap.getHeapSize() == n + m
+					&& (heap.root == null || heap.root.parent == null) && leftistRank(heap.root) >= 0
+					&& drainsInOrder(heap, sortedDescending(processes))) {
+				result = Result.MatchingValue;
+			} else {
+				result = Result.Fail;
+			}
+		} catch (Exception e) {
+			System.out.printf("%s caught unexpected %s\n", "testLeftistMeld", e.toString());
+			e.printStackTrace();
+			result = Result.UnexpectedException;
+		}
+		return result == expectedResult;
+	}
+
+	/** Sorts an array of n Processes with random priorities in place with the
+	 * static heapSort, and checks it against Arrays.sort
+	 * @param n number of Processes
+	 * @param expectedResult
+	 * @return test success
+	 */
+	private boolean testStaticHeapSort(int n, Result expectedResult) {
+		Result result;
+		try {
+			Process[] processes = randomProcesses(n, n + 4);
+			Process[] expected = processes.clone();
+			Arrays.sort(expected);
+			MaxHeap.heapSort(processes);
+			result = Arrays.equals(processes, expected) ? Result.MatchingValue : Result.Fail;
+		} catch (Exception e) {
+			System.out.printf("%s caught unexpected %s\n", "testStaticHeapSort", e.toString());
+			e.printStackTrace();
+			result = Result.UnexpectedException;
+		}
+		return result == expectedResult;
+	}
+
+	/** Sorts 1024 Processes with heapSort through Arrays.parallelSort, by
+	 * lowering the parallel sort threshold to exactly that size, where groups
+	 * of four share an arrival time and most of those a priority, then checks
+	 * them against a copy sorted by priority, then latest arrival, then
+	 * highest id first
+	 * @param useStatic whether to sort with the static heapSort rather than a heap's
+	 * @param expectedResult
+	 * @return test success
+	 */
+	private boolean testParallelHeapSort(boolean useStatic, Result expectedResult) {
+		Result result;
+		int threshold = MaxHeap.parallelSortThreshold;
+		try {
+			int n = 1024;
+			MaxHeap.parallelSortThreshold = n;
+			Random rand = new Random(25);
+			Process[] processes = new Process[n];
+			for (int i = 0; i < n; i++) {
+				processes[i] = new Process(i / 4, 1, rand.nextInt(2) + 1);
+			}
+			Process[] expected = processes.clone();
+			Arrays.sort(expected, Comparator.comparingInt(Process::getPriority)
+					.thenComparing(Comparator.comparingInt(Process::getArrivalTime).reversed())
+					.thenComparing(Comparator.comparingInt(Process::getId).reversed()));
+			Process[] sorted;
+			if (useStatic) {
+				sorted = processes;
+				MaxHeap.heapSort(sorted);
+			} else {
+				MaxHeap heap = new MaxHeap(arity);
+				for (Process p : processes) {
+					heap.maxHeapInsert(p);
+				}
+				sorted = Arrays.copyOf(heap.heapSort(), n);
+			}
+			result = Arrays.equals(sorted, expected) ? Result.MatchingValue : Result.Fail;
+		} catch (Exception e) {
+			System.out.printf("%s caught unexpected %s\n", "testParallelHeapSort", e.toString());
+			e.printStackTrace();
+			result = Result.UnexpectedException;
+		} finally {
+			MaxHeap.parallelSortThreshold = threshold;
+		}
+		return result == expectedResult;
+	}
+
+	/** Offers n Processes with random priorities to a TopK of k, checking each
+	 * dropped Process, then checks the size, minimum and sorted selection
+	 * against the k highest of a sorted copy
+	 * @param n number of Processes
+	 * @param k number of Processes to keep
+	 * @param expectedResult
+	 * @return test success
+	 */
+	private boolean testTopK(int n, int k, Result expectedResult) {
+		Result result;
+		try {
+			Process[] processes = randomProcesses(n, n + 5);
+			TopK<Process> top = new TopK<Process>(k, Comparator.naturalOrder());
+			result = Result.MatchingValue;
+			for (int i = 0; i < n; i++) {
+				Process least = top.minimum();
+				Process dropped = top.offer(processes[i]);
+				if (i < k ? dropped != null
+						: dropped != (processes[i].compareTo(least) > 0 ? least : processes[i])) {
+					result = Result.Fail;
+				}
+			}
+			Process[] expected = Arrays.copyOf(sortedDescending(processes), Math.min(k, n));
+			if (top.size() != expected.length || !Arrays.equals(top.toSortedArray(new Process[0]), expected)
+					|| top.minimum() != (n == 0 ? null : expected[expected.length - 1])) {
+				result = Result.Fail;
+			}
+		} catch (IllegalArgumentException e) {
+			result = Result.IllegalArgument;
+		} catch (Exception e) {
+			System.out.printf("%s caught unexpected %s\n", "testTopK", e.toString());
+			e.printStackTrace();
+			result = Result.UnexpectedException;
+		}
+		return result == expectedResult;
+	}
+
+	/** Selects the 10 highest priority of 500 Processes with random priorities
+	 * with TopK.highestPriority, and checks them against a sorted copy
+	 * @param expectedResult
+	 * @return test success
+	 */
+	private boolean testHighestPriority(Result expectedResult) {
+		Result result;
+		try {
+			Process[] processes = randomProcesses(500, 14);
+			Process[] top = TopK.highestPriority(Arrays.asList(processes).iterator(), 10);
+			result = Arrays.equals(top, Arrays.copyOf(sortedDescending(processes), 10)) ? Result.MatchingValue : Result.Fail;
+		} catch (Exception e) {
+			System.out.printf("%s caught unexpected %s\n", "testHighestPriority", e.toString());
+			e.printStackTrace();
+			result = Result.UnexpectedException;
+		}
+		return result == expectedResult;
+	}
+
+	/** Compares the dispatch order of an ExternalPriorityQueue with the given
+	 * memory budget with that of a MyPriorityQueue
+	 * @param budget memory budget of the ExternalPriorityQueue
+	 * @param agingPeriod timeToIncrementPriority passed to update, or 0 for no updates
+	 * @param maxPriority maxPriority passed to update, and highest priority enqueued
+	 * @param expectedResult
+	 * @return test success
+	 */
+	private boolean testExternalOrder(int budget, int agingPeriod, int maxPriority, Result expectedResult) {
+		Result result;
+		try (ExternalPriorityQueue queue = new ExternalPriorityQueue(budget, null)) {
+			result = Result.Fail;
+			if (dispatchesLikeMyPriorityQueue(queue, budget * 31 + agingPeriod, agingPeriod, maxPriority)
+					&& queue.getSpilledTotal() > 0) { // Spilled, or nothing was tested
+				result = Result.MatchingValue;
+			}
+		} catch (Exception e) {
+			System.out.printf("%s caught unexpected %s\n", "testExternalOrder", e.toString());
+			e.printStackTrace();
+			result = Result.UnexpectedException;
+		}
+		return result == expectedResult;
+	}
+
+	/** Compares the dispatch order of an OffHeapPriorityQueue, which rebuilds
+	 * every Process it returns from a record, with that of a MyPriorityQueue
+	 * @param agingPeriod timeToIncrementPriority passed to update, or 0 for no updates
+	 * @param pooled whether the queue recycles the Processes through a ProcessPool
+	 * @param expectedResult
+	 * @return test success
+	 */
+	private boolean testOffHeapOrder(int agingPeriod, boolean pooled, Result expectedResult) {
+		Result result;
+		try {
+			OffHeapPriorityQueue queue = new OffHeapPriorityQueue();
+			if (pooled) {
+				queue.setPool(new ProcessPool());
+			}
+			result = dispatchesLikeMyPriorityQueue(queue, 17 + agingPeriod, agingPeriod, 5)
+					? Result.MatchingValue : Result.Fail;
+		} catch (Exception e) {
+			System.out.printf("%s caught unexpected %s\n", "testOffHeapOrder", e.toString());
+			e.printStackTrace();
+			result = Result.UnexpectedException;
+		}
+		return result == expectedResult;
+	}
+
+	////////////////////////////
+	// XXX HELPERS
+	////////////////////////////
+
+	/** Creates Processes with random priorities from 1 to 10 and arrival times 0 to n - 1
+	 * @param n number of Processes
+	 * @param seed seed of the priorities
+	 * @return the Processes, in arrival order
+	 */
+	private static Process[] randomProcesses(int n, long seed) {
+		Random rand = new Random(seed);
+		Process[] processes = new Process[n];
+		for (int i = 0; i < n; i++) {
+			processes[i] = new Process(i, 1, rand.nextInt(10) + 1);
+		}
+		return processes;
+	}
+
+	/** Runs the same random mix of enqueues, dequeues and, unless agingPeriod
+	 * is 0, updates on a queue and on a MyPriorityQueue of the current arity
+	 * @param queue empty queue to compare
+	 * @param seed seed of the operations
+	 * @param agingPeriod timeToIncrementPriority passed to update, or 0 for no updates
+	 * @param maxPriority maxPriority passed to update, and highest priority enqueued
+	 * @return whether every dequeue returned the same Process from both, with
+	 * the same priority, waiting time, service time and time remaining
+	 */
+	private boolean dispatchesLikeMyPriorityQueue(PriorityQueueInterface queue, long seed, int agingPeriod, int maxPriority) {
+		return dispatchesLike(queue, new MyPriorityQueue(arity), 0, seed, agingPeriod, maxPriority);
+	}
+
+	/** Runs the same random mix of enqueues, dequeues and, unless agingPeriod
+	 * is 0, updates on two queues that already hold the same Processes
+	 * @param queue queue to compare
+	 * @param expected queue whose order is known to be right
+	 * @param time arrival time and id of the first Process enqueued, after those already queued
+	 * @param seed seed of the operations
+	 * @param agingPeriod timeToIncrementPriority passed to update, or 0 for no updates
+	 * @param maxPriority maxPriority passed to update, and highest priority enqueued
+	 * @return whether every dequeue returned the same Process from both, with
+	 * the same priority, waiting time, service time and time remaining
+	 */
+	private static boolean dispatchesLike(PriorityQueueInterface queue, PriorityQueueInterface expected, int time,
+			long seed, int agingPeriod, int maxPriority) {
+		Random rand = new Random(seed);
+		Process running = new Process(-1, 1, 1);
+		for (int op = 0; op < 5000; op++) {
+			int choice = rand.nextInt(100);
+			if (choice < 50) {
+				int serviceTime = rand.nextInt(20) + 1;
+				int timeRemaining = rand.nextInt(serviceTime) + 1;
+				int priority = rand.nextInt(maxPriority) + 1;
+				queue.enqueue(new Process(time, time, serviceTime, timeRemaining, priority));
+				expected.enqueue(new Process(time, time, serviceTime, timeRemaining, priority));
+				time++;
+			} else if (choice < 85 || agingPeriod == 0) {
+				if (queue.isEmpty() != expected.isEmpty()) {
+					return false;
+				}
+				if (!queue.isEmpty()) {
+					Process p = queue.dequeue();
+					Process q = expected.dequeue();
+					if (p.getId() != q.getId() || p.getPriority() != q.getPriority()
+							|| p.getWaitingTime() != q.getWaitingTime() || p.getServiceTime() != q.getServiceTime()
+							|| p.getTimeRemaining() != q.getTimeRemaining()) {
+						return false;
+					}
+				}
+			} else {
+				queue.update(running, agingPeriod, maxPriority);
+				expected.update(running, agingPeriod, maxPriority);
+			}
+		}
+		return true;
+	}
+
+	/** Sorts a copy of the Processes in the order heapExtractMax should return them
+	 * @param processes Processes to sort
+	 * @return the sorted copy, highest priority first
+	 */
+	private static Process[] sortedDescending(Process[] processes) {
+		Process[] sorted = processes.clone();
+		Arrays.sort(sorted, Collections.reverseOrder());
+		return sorted;
+	}
+
+	/** Creates an IndexedMaxHeap holding the given Processes
+	 * @param processes Processes to insert, with distinct ids
+	 * @return the heap
+	 * @throws HeapException if two Processes share an id
+	 */
+	private static IndexedMaxHeap newIndexedHeap(Process[] processes) throws HeapException {
+		IndexedMaxHeap heap = new IndexedMaxHeap();
+		for (Process p : processes) {
+			heap.insert(p);
+		}
+		return heap;
+	}
+
+	/** Checks that no Process in the heap is greater than its parent
+	 * @param maxHeap heap to check
+	 * @return true if the max-heap property holds
+	 */
+	private static boolean isMaxHeap(MaxHeap maxHeap) {
+		Process[] heap = maxHeap.getHeap();
+		for (int i = 1; i < maxHeap.getHeapSize(); i++) {
+			if (heap[i].compareTo(heap[i / maxHeap.getArity()]) > 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/** Extracts every Process from the heap and checks them against the expected order
+	 * @param maxHeap heap to drain
+	 * @param expected Processes in the order they should be extracted
+	 * @return true if the heap held exactly the expected Processes, in order
+	 * @throws HeapUnderFlowException if the heap holds fewer Processes than its size
+	 */
+	private static boolean drainsInOrder(MaxHeap maxHeap, Process[] expected) throws HeapUnderFlowException {
+		if (maxHeap.getHeapSize() != expected.length) {
+			return false;
+		}
+		for (Process p : expected) {
+			if (maxHeap.heapExtractMax() != p) {
+				return false;
+			}
+		}
+		return maxHeap.getHeapSize() == 0;
+	}
+
+	/** Extracts every Process from an IndexedMaxHeap and checks them against the expected order
+	 * @param heap heap to drain
+	 * @param expected Processes in the order they should be extracted
+	 * @return true if the heap held exactly the expected Processes, in order, and no longer contains them
+	 * @throws HeapUnderFlowException if the heap holds fewer Processes than its size
+	 */
+	private static boolean drainsInOrder(IndexedMaxHeap heap, Process[] expected) throws HeapUnderFlowException {
+		if (heap.getHeapSize() != expected.length) {
+			return false;
+		}
+		for (Process p : expected) {
+			if (heap.extractMax() != p || heap.contains(p.getId())) {
+				return false;
+			}
+		}
+		return heap.getHeapSize() == 0;
+	}
+
+	/** Extracts every Process from a PairingHeap and checks them against the expected order
+	 * @param heap heap to drain
+	 * @param expected Processes in the order they should be extracted
+	 * @return true if the heap held exactly the expected Processes, in order
+	 * @throws HeapUnderFlowException if the heap holds fewer Processes than its size
+	 */
+	private static boolean drainsInOrder(PairingHeap heap, Process[] expected) throws HeapUnderFlowException {
+		if (heap.getHeapSize() != expected.length) {
+			return false;
+		}
+		for (Process p : expected) {
+			if (heap.extractMax() != p) {
+				return false;
+			}
+		}
+		return heap.getHeapSize() == 0 && heap.maximum() == null;
+	}
+
+	/** Checks a LeftistHeap subtree: no child greater than its parent or with
+	 * another parent, no right child of higher rank than the left, and every
+	 * rank the length of the node's right spine
+	 * @param node root of the subtree, or null
+	 * @return the rank of the subtree, or -1 if any check fails
+	 */
+	private static int leftistRank(LeftistHeap.Node node) {
+		if (node == null) {
+			return 0;
+		}
+		for (LeftistHeap.Node child : new LeftistHeap.Node[] {node.left, node.right}) {
+			if (child != null && (child.parent != node || child.process.compareTo(node.process) > 0)) {
+				return -1;
+			}
+		}
+		int left = leftistRank(node.left);
+		int right = leftistRank(node.right);
+		if (left < 0 || right < 0 || left < right || node.rank != right + 1) {
+			return -1;
+		}
+		return node.rank;
+	}
+
+	/** Extracts every Process from a LeftistHeap and checks them against the expected order
+	 * @param heap heap to drain
+	 * @param expected Processes in the order they should be extracted
+	 * @return true if the heap held exactly the expected Processes, in order
+	 * @throws HeapUnderFlowException if the heap holds fewer Processes than its size
+	 */
+	private static boolean drainsInOrder(LeftistHeap heap, Process[] expected) throws HeapUnderFlowException {
+		if (heap.getHeapSize() != expected.length) {
+			return false;
+		}
+		for (Process p : expected) {
+			if (heap.extractMax() != p) {
+				return false;
+			}
+		}
+		return heap.getHeapSize() == 0 && heap.maximum() == null;
+	}
 }
 interface Scenario<T> {
 	MaxHeap build();
@@ -0,0 +1,225 @@
+/**
+ * IndexedMaxHeap class. A max-heap of Processes that also keeps a map from
+ * each Process id to its index in the heap, updated whenever a Process
+ * moves. A queued Process can then be found by id in O(1), and have its
+ * priority raised or lowered, or be removed, in O(log n) without a search.
+ *
+ * @author Peyton Lundquist
+ * @date 10/17/2026
+ */
+public class IndexedMaxHeap {
+	protected static final int ARRAYSIZE = 16;
+
+	protected int heapSize;
+	protected Process[] A;
+	protected ProcessIndexMap index;
+
+	public IndexedMaxHeap() {
+		A = new Process[ARRAYSIZE];
+		index = new ProcessIndexMap();
+		heapSize = 0;
+	}
+
+	/**
+	 * Insertion of a Process into the heap.
+	 * @param p Process to insert
+	 * @throws HeapException If a Process with the same id is already in the heap
+	 */
+	public void insert(Process p) throws HeapException {
+		if(contains(p.getId())) {
+			throw new HeapException("Process " + p.getId() + " is already in the heap.");
+		}
+		if(heapSize == A.length) {
+			Process[] temp = new Process[A.length * 2];
+			System.arraycopy(A, 0, temp, 0, heapSize);
+			A = temp;
+		}
+		heapSize++;
+		siftUp(heapSize - 1, p);
+	}
+
+	/**
+	 * Extracts the Max Process from the heap.
+	 * @return Process with maximum priority key
+	 * @throws HeapUnderFlowException
+	 */
+	public Process extractMax() throws HeapUnderFlowException {
+		if(heapSize < 1) {
+			throw new HeapUnderFlowException("Heap size is less than one.");
+		}
+		return removeAt(0);
+	}
+
+	/**
+	 * Returns the heap's maximum Process without removing it.
+	 * @return The Process with the highest priority key, or null if the heap is empty
+	 */
+	public Process maximum() {
+		return heapSize > 0 ? A[0] : null;
+	}
+
+	/**
+	 * Checks whether a Process is in the heap.
+	 * @param id Id of the Process
+	 * @return Boolean for if the Process is in the heap
+	 */
+	public boolean contains(int id) {
+		return index.get(id) != ProcessIndexMap.ABSENT;
+	}
+
+	/**
+	 * Returns a queued Process by id.
+	 * @param id Id of the Process
+	 * @return The Process, or null if it is not in the heap
+	 */
+	public Process get(int id) {
+		int i = index.get(id);
+		return i == ProcessIndexMap.ABSENT ? null : A[i];
+	}
+
+	/**
+	 * Raises the priority key of a queued Process.
+	 * @param id Id of the Process
+	 * @param key New priority key, at least the current one
+	 * @throws HeapException If the Process is not in the heap or the key is smaller
+	 */
+	public void increaseKey(int id, int key) throws HeapException {
+		int i = indexOf(id);
+		Process p = A[i];
+		if(key < p.getPriority()) {
+			throw new HeapException("New key " + key + " is smaller than the current key " + p.getPriority() + ".");
+		}
+		p.setPriority(key);
+		siftUp(i, p);
+	}
+
+	/**
+	 * Lowers the priority key of a queued Process.
+	 * @param id Id of the Process
+	 * @param key New priority key, at most the current one
+	 * @throws HeapException If the Process is not in the heap or the key is larger
+	 */
+	public void decreaseKey(int id, int key) throws HeapException {
+		int i = indexOf(id);
+		Process p = A[i];
+		if(key > p.getPriority()) {
+			throw new HeapException("New key " + key + " is larger than the current key " + p.getPriority() + ".");
+		}
+		p.setPriority(key);
+		siftDown(i, p);
+	}
+
+	/**
+	 * Removes a queued Process by id.
+	 * @param id Id of the Process
+	 * @return The removed Process, or null if it was not in the heap
+	 */
+	public Process remove(int id) {
+		int i = index.get(id);
+		if(i == ProcessIndexMap.ABSENT) {
+			return null;
+		}
+		return removeAt(i);
+	}
+
+	/**
+	 * Returns heapSize.
+	 * @return Number of Processes in the heap
+	 */
+	public int getHeapSize() {
+		return heapSize;
+	}
+
+	/**
+	 * Looks up the heap index of a Process.
+	 * @param id Id of the Process
+	 * @return Index of the Process in the heap
+	 * @throws HeapException If the Process is not in the heap
+	 */
+	private int indexOf(int id) throws HeapException {
+		int i = index.get(id);
+		if(i == ProcessIndexMap.ABSENT) {
+			throw new HeapException("Process " + id + " is not in the heap.");
+		}
+		return i;
+	}
+
+	/**
+	 * Removes the Process at index i, filling the hole with the last Process.
+	 * @param i Index of the Process to remove
+	 * @return The removed Process
+	 */
+	protected Process removeAt(int i) {
+		Process removed = A[i];
+		index.remove(removed.getId());
+		heapSize--;
+		Process last = A[heapSize];
+		A[heapSize] = null;
+		if(i < heapSize) {
+			if(i > 0 && last.compareTo(A[parent(i)]) > 0) {
+				siftUp(i, last);
+			}else {
+				siftDown(i, last);
+			}
+		}
+		return removed;
+	}
+
+	/**
+	 * Moves a hole at index i up until p fits, then stores p there.
+	 * @param i Index of the hole
+	 * @param p Process to place
+	 */
+	protected void siftUp(int i, Process p) {
+		while(i > 0) {
+			int parent = parent(i);
+			if(p.compareTo(A[parent]) < 0) {
+				break;
+			}
+			set(i, A[parent]);
+			i = parent;
+		}
+		set(i, p);
+	}
+
+	/**
+	 * Moves a hole at index i down until p fits, then stores p there.
+	 * @param i Index of the hole
+	 * @param p Process to place
+	 */
+	protected void siftDown(int i, Process p) {
+		int half = heapSize >>> 1;
+		while(i < half) {
+			int child = (i << 1) + 1;
+			int right = child + 1;
+			if(right < heapSize && A[right].compareTo(A[child]) > 0) {
+				child = right;
+			}
+			if(p.compareTo(A[child]) > 0) {
+				break;
+			}
+			set(i, A[child]);
+			i = child;
+		}
+		set(i, p);
+	}
+
+	/**
+	 * Stores a Process at index i and records its new index.
+	 * @param i Index to store at
+	 * @param p Process to store
+	 */
+	private void set(int i, Process p) {
+		A[i] = p;
+		index.put(p.getId(), i);
+	}
+
+	/**
+	 * Parent node function.
+	 * @param i Index of child
+	 * @return The parent index of child node
+	 */
+	private int parent(int i) {
+		return (i - 1) >>> 1;
+	}
+}
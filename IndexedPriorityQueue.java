@@ -0,0 +1,72 @@
+/**
+ * IndexedPriorityQueue extends the IndexedMaxHeap class and provides the
+ * same priority queue structure as MyPriorityQueue, with the indexed
+ * operations (increaseKey, decreaseKey, remove and contains by Process id)
+ * available for cancelling and re-prioritizing individual jobs.
+ *
+ * @author Peyton Lundquist
+ * @date 10/17/2026
+ */
+public class IndexedPriorityQueue extends IndexedMaxHeap implements PriorityQueueInterface {
+	private PromotionListener promotionListener;
+
+	/**
+	 * Constructer
+	 */
+	public IndexedPriorityQueue() {
+		super();
+	}
+
+	/**
+	 * Queues a Process.
+	 * @param p Process to queue
+	 * @throws IllegalArgumentException If a Process with the same id is already queued
+	 */
+	@Override
+	public void enqueue(Process p) {
+		try {
+			insert(p);
+		} catch (HeapException e) {
+			throw new IllegalArgumentException("Illegal argument: " + e.getMessage(), e);
+		}
+	}
+
+	@Override
+	public Process dequeue() {
+		try {
+			return extractMax();
+		} catch (HeapUnderFlowException e) {
+			e.printStackTrace();
+		}
+		return null;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return heapSize == 0;
+	}
+
+	@Override
+	public void setPromotionListener(PromotionListener listener) {
+		promotionListener = listener;
+	}
+
+	@Override
+	public void update(Process next, int timeToIncrementPriority, int maxPriority) {
+		next.resetWaitingTime();
+		for(int i = 0; i < heapSize; i++) {
+			Process p = A[i];
+			p.incrementWaitingTime();
+			if(p.getWaitingTime() >= timeToIncrementPriority) {
+				p.resetWaitingTime();
+				if(p.getPriority() < maxPriority) {
+					p.setPriority(p.getPriority() + 1);
+					if(promotionListener != null) {
+						promotionListener.promoted(p.getId(), p.getPriority());
+					}
+					siftUp(i, p);
+				}
+			}
+		}
+	}
+}
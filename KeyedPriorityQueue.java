@@ -0,0 +1,140 @@
+/**
+ * KeyedPriorityQueue is the base of the scheduling policies that always
+ * run the Process with the smallest key, such as shortest remaining time
+ * or earliest deadline first. Subclasses compute a Process's key when it is
+ * enqueued, and the key stays fixed while the Process waits. Equal keys go
+ * to the earliest arrival.
+ *
+ * The queue is a binary min-heap of Processes with their keys in a
+ * parallel long array, sifted by moving a hole rather than by swapping.
+ * Processes are not aged, so update only resets the running Process's
+ * waiting time.
+ *
+ * @author Peyton Lundquist
+ * @date 10/17/2026
+ */
+public abstract class KeyedPriorityQueue implements PriorityQueueInterface {
+	private static final int ARRAYSIZE = 16;
+
+	private Process[] heap;
+	private long[] keys;
+	private int heapSize;
+
+	/**
+	 * Constructor
+	 */
+	public KeyedPriorityQueue() {
+		heap = new Process[ARRAYSIZE];
+		keys = new long[ARRAYSIZE];
+		heapSize = 0;
+	}
+
+	/**
+	 * Computes the key a Process is queued under. Smaller keys run first.
+	 * @param p Process being enqueued
+	 * @return Key of the Process
+	 */
+	protected abstract long key(Process p);
+
+	/**
+	 * Called for a Process as it is dequeued to run for one time unit.
+	 * @param p Dequeued Process
+	 * @param key Key it was queued under
+	 */
+	protected void charge(Process p, long key) {
+	}
+
+	@Override
+	public void enqueue(Process p) {
+		if(heapSize == heap.length) {
+			Process[] tempHeap = new Process[heap.length * 2];
+			long[] tempKeys = new long[keys.length * 2];
+			System.arraycopy(heap, 0, tempHeap, 0, heapSize);
+			System.arraycopy(keys, 0, tempKeys, 0, heapSize);
+			heap = tempHeap;
+			keys = tempKeys;
+		}
+		heapSize++;
+		siftUp(heapSize - 1, p, key(p));
+	}
+
+	@Override
+	public Process dequeue() {
+		if(heapSize < 1) {
+			return null;
+		}
+		Process min = heap[0];
+		long key = keys[0];
+		heapSize--;
+		if(heapSize > 0) {
+			siftDown(0, heap[heapSize], keys[heapSize]);
+		}
+		heap[heapSize] = null;
+		charge(min, key);
+		return min;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return heapSize == 0;
+	}
+
+	/**
+	 * Returns the number of queued Processes.
+	 * @return Number of Processes in the queue
+	 */
+	public int size() {
+		return heapSize;
+	}
+
+	@Override
+	public void update(Process next, int timeToIncrementPriority, int maxPriority) {
+		next.resetWaitingTime();
+	}
+
+	/**
+	 * Moves a hole at index i up until the given Process fits, then places it there.
+	 */
+	private void siftUp(int i, Process p, long key) {
+		while(i > 0) {
+			int parent = (i - 1) >>> 1;
+			if(!before(key, p, keys[parent], heap[parent])) {
+				break;
+			}
+			heap[i] = heap[parent];
+			keys[i] = keys[parent];
+			i = parent;
+		}
+		heap[i] = p;
+		keys[i] = key;
+	}
+
+	/**
+	 * Moves a hole at index i down until the given Process fits, then places it there.
+	 */
+	private void siftDown(int i, Process p, long key) {
+		int half = heapSize >>> 1;
+		while(i < half) {
+			int child = (i << 1) + 1;
+			int right = child + 1;
+			if(right < heapSize && before(keys[right], heap[right], keys[child], heap[child])) {
+				child = right;
+			}
+			if(!before(keys[child], heap[child], key, p)) {
+				break;
+			}
+			heap[i] = heap[child];
+			keys[i] = keys[child];
+			i = child;
+		}
+		heap[i] = p;
+		keys[i] = key;
+	}
+
+	/**
+	 * @return Boolean for if the first Process runs before the second
+	 */
+	private static boolean before(long key, Process p, long otherKey, Process other) {
+		return key < otherKey || (key == otherKey && p.getArrivalTime() < other.getArrivalTime());
+	}
+}
@@ -0,0 +1,150 @@
+/**
+ * A log-bucketed histogram of non-negative values, in the style of
+ * HdrHistogram, for percentiles of turn around times. Values below
+ * SUB_BUCKETS are counted exactly. Above that, each power of two is split
+ * into SUB_BUCKETS / 2 equal buckets, so a value is known to within 1/128
+ * of itself. Recording is O(1), memory is bounded by the largest value
+ * recorded (at most a few thousand counters for any long), and two
+ * histograms merge by adding their counts.
+ *
+ * @author Peyton Lundquist
+ * @date 10/17/2026
+ */
+public class LatencyHistogram {
+	private static final int SUB_BITS = 8;
+	private static final int SUB_BUCKETS = 1 << SUB_BITS;
+	private static final int HALF = SUB_BUCKETS >> 1;
+
+	private long[] counts;
+	private long totalCount;
+	private long min;
+	private long max;
+
+	/**
+	 * Constructor
+	 */
+	public LatencyHistogram() {
+		counts = new long[SUB_BUCKETS];
+		totalCount = 0;
+		min = Long.MAX_VALUE;
+		max = 0;
+	}
+
+	/**
+	 * Records a value once.
+	 * @param value Value to record, at least 0
+	 */
+	public void record(long value) {
+		record(value, 1);
+	}
+
+	/**
+	 * Records a value several times.
+	 * @param value Value to record, at least 0
+	 * @param times Number of times to record it
+	 */
+	public void record(long value, long times) {
+		if(value < 0) {
+			throw new IllegalArgumentException("Value " + value + " is negative.");
+		}
+		int index = index(value);
+		if(index >= counts.length) {
+			grow(index + 1);
+		}
+		counts[index] += times;
+		totalCount += times;
+		min = Math.min(min, value);
+		max = Math.max(max, value);
+	}
+
+	/**
+	 * Adds every value recorded in another histogram to this one.
+	 * @param other Histogram to merge in
+	 */
+	public void merge(LatencyHistogram other) {
+		if(other.counts.length > counts.length) {
+			grow(other.counts.length);
+		}
+		for(int i = 0; i < other.counts.length; i++) {
+			counts[i] += other.counts[i];
+		}
+		totalCount += other.totalCount;
+		min = Math.min(min, other.min);
+		max = Math.max(max, other.max);
+	}
+
+	/**
+	 * Returns the value at a percentile: the largest value that q percent
+	 * of the recorded values are less than or equivalent to.
+	 * @param q Percentile, from 0 to 100
+	 * @return The value, or 0 if nothing was recorded
+	 */
+	public long getValueAtPercentile(double q) {
+		if(totalCount == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(Math.min(q, 100) / 100 * totalCount));
+		long seen = 0;
+		for(int i = 0; i < counts.length; i++) {
+			seen += counts[i];
+			if(seen >= rank) {
+				return Math.max(min, Math.min(max, highestEquivalent(i)));
+			}
+		}
+		return max;
+	}
+
+	/**
+	 * @return Number of values recorded
+	 */
+	public long getTotalCount() {
+		return totalCount;
+	}
+
+	/**
+	 * @return The smallest value recorded, 0 if there are none
+	 */
+	public long getMin() {
+		return totalCount == 0 ? 0 : min;
+	}
+
+	/**
+	 * @return The largest value recorded, 0 if there are none
+	 */
+	public long getMax() {
+		return max;
+	}
+
+	/**
+	 * Finds the bucket of a value.
+	 * @param value A value, at least 0
+	 * @return Index of its counter
+	 */
+	static int index(long value) {
+		if(value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int shift = 64 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+		return shift * HALF + (int) (value >>> shift);
+	}
+
+	/**
+	 * Returns the largest value that falls in a bucket.
+	 * @param index Index of a counter
+	 * @return Largest value counted there
+	 */
+	static long highestEquivalent(int index) {
+		if(index < SUB_BUCKETS) {
+			return index;
+		}
+		int shift = index / HALF - 1;
+		long sub = index - (long) shift * HALF;
+		return ((sub + 1) << shift) - 1;
+	}
+
+	private void grow(int length) {
+		long[] temp = new long[Math.max(length, counts.length * 2)];
+		System.arraycopy(counts, 0, temp, 0, counts.length);
+		counts = temp;
+	}
+}
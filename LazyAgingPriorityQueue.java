@@ -0,0 +1,111 @@
+/**
+ * LazyAgingPriorityQueue is a PackedPriorityQueue whose update does not
+ * touch every queued Process. Each call to update advances an epoch, and
+ * every Process remembers the epoch at which its waiting time was last
+ * zero, so its waiting time is simply the distance to the current epoch.
+ * An AgingSchedule in stamp order yields exactly the Processes that reach
+ * timeToIncrementPriority on this update, and only those are promoted.
+ *
+ * The promotion semantics are those of MyPriorityQueue.update: a Process
+ * whose waiting time reaches timeToIncrementPriority has it reset, and its
+ * priority is incremented unless it is already at maxPriority. An update
+ * costs O(1) plus O(log n) per promotion, instead of O(n). The aging
+ * arguments are expected to be the same on every call to update.
+ *
+ * @author Peyton Lundquist
+ * @date 10/17/2026
+ */
+public class LazyAgingPriorityQueue extends PackedPriorityQueue {
+	private static final long FREE = Long.MIN_VALUE;
+
+	private long epoch;             // Number of calls to update so far
+	private int agingPeriod;        // Last timeToIncrementPriority seen by update
+	private long[] stamps;          // Epoch of each slot's last zero waiting time, FREE if unused
+	private int[] pos;              // Heap index of each slot
+	private AgingSchedule schedule;
+
+	/**
+	 * Constructor
+	 */
+	public LazyAgingPriorityQueue() {
+		super();
+		epoch = 0;
+		agingPeriod = 0;
+		stamps = new long[ARRAYSIZE];
+		pos = new int[ARRAYSIZE];
+		schedule = new AgingSchedule();
+	}
+
+	@Override
+	public void update(Process next, int timeToIncrementPriority, int maxPriority) {
+		next.resetWaitingTime();
+		agingPeriod = timeToIncrementPriority;
+		epoch++;
+		while(!schedule.isEmpty() && schedule.peekStamp() + timeToIncrementPriority <= epoch) {
+			int slot = schedule.peekSlot();
+			long stamp = schedule.peekStamp();
+			schedule.poll();
+			if(stamps[slot] != stamp) { // Dequeued, or already handled this epoch
+				continue;
+			}
+			stamps[slot] = epoch;
+			int i = pos[slot];
+			if(priorityOf(keys[i]) < maxPriority) {
+				keys[i] += PRIORITY_UNIT;
+				if(promotionListener != null) {
+					promotionListener.promoted(slots[slot].getId(), priorityOf(keys[i]));
+				}
+				siftUp(i);
+				schedule.add(slot, epoch);
+			}
+			// A Process at maxPriority is not rescheduled. Its waiting time keeps
+			// resetting every agingPeriod, which waitingTime derives from its stamp.
+		}
+	}
+
+	/**
+	 * Returns the number of calls to update so far.
+	 * @return The current epoch
+	 */
+	public long getEpoch() {
+		return epoch;
+	}
+
+	@Override
+	protected int waitingTime(int i) {
+		long waited = epoch - stamps[ids[i]];
+		if(agingPeriod > 0) {
+			waited %= agingPeriod;
+		}
+		return (int) waited;
+	}
+
+	@Override
+	protected void place(int i, long key, int id, int wait) {
+		keys[i] = key;
+		ids[i] = id;
+		pos[id] = i;
+	}
+
+	@Override
+	protected int allocateSlot(Process p) {
+		int slot = super.allocateSlot(p);
+		if(slot >= stamps.length) {
+			long[] tempStamps = new long[slots.length];
+			int[] tempPos = new int[slots.length];
+			System.arraycopy(stamps, 0, tempStamps, 0, stamps.length);
+			System.arraycopy(pos, 0, tempPos, 0, pos.length);
+			stamps = tempStamps;
+			pos = tempPos;
+		}
+		stamps[slot] = epoch - p.getWaitingTime();
+		schedule.add(slot, stamps[slot]);
+		return slot;
+	}
+
+	@Override
+	protected void releaseSlot(int slot) {
+		super.releaseSlot(slot);
+		stamps[slot] = FREE;
+	}
+}
@@ -0,0 +1,174 @@
+/**
+ * LeftistHeap class. A max leftist heap of Processes: a heap-ordered binary
+ * tree in which every node's left child has a rank at least that of its
+ * right child, where a node's rank is the length of its right spine. The
+ * right spine is therefore at most log2(n + 1) nodes long, and two heaps
+ * are melded by merging their right spines in O(log n). Insertion melds
+ * with a one-node heap and extraction melds the root's two subtrees, so
+ * both are O(log n) as well.
+ *
+ * Increasing a key moves the Process up by exchanging it with its
+ * ancestors, as in MaxHeap, so a node does not keep its Process.
+ *
+ * Removed nodes are kept for reuse, so in the steady state insertion
+ * allocates nothing.
+ *
+ * @author Peyton Lundquist
+ * @date 10/17/2026
+ */
+public class LeftistHeap {
+	protected Node root;
+	protected int size;
+	private Node free; // Removed nodes, linked through right
+
+	/**
+	 * A node of the heap.
+	 */
+	protected static class Node {
+		Process process;
+		Node left;
+		Node right;
+		Node parent;
+		int rank;    // Number of nodes on the right spine from this one
+	}
+
+	public LeftistHeap() {
+		root = null;
+		size = 0;
+	}
+
+	/**
+	 * Insertion of a Process into the heap.
+	 * @param p Process to insert
+	 */
+	public void insert(Process p) {
+		Node node = free;
+		if(node == null) {
+			node = new Node();
+		}else {
+			free = node.right;
+			node.right = null;
+		}
+		node.process = p;
+		node.rank = 1;
+		root = merge(root, node);
+		root.parent = null;
+		size++;
+	}
+
+	/**
+	 * Extracts the Max Process from the heap.
+	 * @return Process with maximum priority key
+	 * @throws HeapUnderFlowException
+	 */
+	public Process extractMax() throws HeapUnderFlowException {
+		if(size < 1) {
+			throw new HeapUnderFlowException("Heap size is less than one.");
+		}
+		return removeRoot();
+	}
+
+	/**
+	 * Removes the root of a non-empty heap and keeps its node for reuse.
+	 * @return The Process of the root
+	 */
+	protected Process removeRoot() {
+		Node max = root;
+		root = merge(max.left, max.right);
+		if(root != null) {
+			root.parent = null;
+		}
+		size--;
+		Process p = max.process;
+		max.process = null;
+		max.left = null;
+		max.parent = null;
+		max.right = free;
+		free = max;
+		return p;
+	}
+
+	/**
+	 * Returns the heap's maximum Process.
+	 * @return The Process with the highest priority key, or null if the heap is empty
+	 */
+	public Process maximum() {
+		return (root == null) ? null : root.process;
+	}
+
+	/**
+	 * Moves every Process of another heap into this one in O(log n). The
+	 * other heap is left empty.
+	 * @param other Heap to meld in
+	 */
+	public void meld(LeftistHeap other) {
+		if(other == this || other.root == null) {
+			return;
+		}
+		root = merge(root, other.root);
+		root.parent = null;
+		size += other.size;
+		other.root = null;
+		other.size = 0;
+	}
+
+	/**
+	 * Increases the priority key of the Process at a node, exchanging it
+	 * with each ancestor it now outranks.
+	 * @param node Node holding the Process
+	 * @param key Priority key value to update the Process to
+	 * @return false, leaving the heap and the Process unchanged, if key is
+	 * lower than the Process's priority, true otherwise
+	 */
+	protected boolean increaseKey(Node node, int key) {
+		Process p = node.process;
+		if(key < p.getPriority()) { // If the key isn't being increased
+			return false;
+		}
+		p.setPriority(key);
+		while(node.parent != null && p.compareTo(node.parent.process) > 0) {
+			node.process = node.parent.process;
+			node = node.parent;
+		}
+		node.process = p;
+		return true;
+	}
+
+	/**
+	 * Returns the number of Processes in the heap.
+	 * @return Number of Processes in the heap
+	 */
+	public int getHeapSize() {
+		return size;
+	}
+
+	/**
+	 * Merges two trees along their right spines, keeping the greater root on
+	 * top and swapping children wherever the right one outranks the left.
+	 * @param a Root of a tree, or null
+	 * @param b Root of a tree, or null
+	 * @return The root of the merged tree, whose parent the caller sets
+	 */
+	private static Node merge(Node a, Node b) {
+		if(a == null) {
+			return b;
+		}
+		if(b == null) {
+			return a;
+		}
+		if(b.process.compareTo(a.process) > 0) {
+			Node temp = a;
+			a = b;
+			b = temp;
+		}
+		a.right = merge(a.right, b);
+		a.right.parent = a;
+		if(a.left == null || a.left.rank < a.right.rank) {
+			Node temp = a.left;
+			a.left = a.right;
+			a.right = temp;
+		}
+		a.rank = (a.right == null) ? 1 : a.right.rank + 1;
+		return a;
+	}
+}
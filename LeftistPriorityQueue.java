@@ -0,0 +1,86 @@
+/**
+ * LeftistPriorityQueue extends the LeftistHeap class and provides the same
+ * priority queue behavior as MyPriorityQueue, aging every queued Process on
+ * each update. Its advantage is meld: the run queue of another
+ * LeftistPriorityQueue is taken over in O(log n), where MyPriorityQueue
+ * needs O(n) and other queues dequeue the Processes one at a time. The
+ * price is update: walking the tree through its links costs several times
+ * what MyPriorityQueue's walk over its array does.
+ *
+ * @author Peyton Lundquist
+ * @date 10/17/2026
+ */
+public class LeftistPriorityQueue extends LeftistHeap implements PriorityQueueInterface {
+	private PromotionListener promotionListener;
+
+	/**
+	 * Constructor
+	 */
+	public LeftistPriorityQueue() {
+		super();
+	}
+
+	@Override
+	public void enqueue(Process p) {
+		insert(p);
+	}
+
+	@Override
+	public Process dequeue() {
+		if(size < 1) {
+			return null;
+		}
+		return removeRoot();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public void meld(PriorityQueueInterface other) {
+		if(other instanceof LeftistPriorityQueue) {
+			meld((LeftistHeap) other);
+		}else {
+			PriorityQueueInterface.super.meld(other);
+		}
+	}
+
+	@Override
+	public void setPromotionListener(PromotionListener listener) {
+		promotionListener = listener;
+	}
+
+	/**
+	 * Visits the nodes in preorder, following parent links back up rather
+	 * than keeping a stack. A promoted Process only moves up, past nodes
+	 * already visited, so every Process is aged exactly once.
+	 */
+	@Override
+	public void update(Process next, int timeToIncrementPriority, int maxPriority) {
+		next.resetWaitingTime();
+		Node node = root;
+		while(node != null) {
+			Process p = node.process;
+			p.incrementWaitingTime();
+			if(p.getWaitingTime() >= timeToIncrementPriority) {
+				p.resetWaitingTime();
+				if(p.getPriority() < maxPriority) {
+					increaseKey(node, p.getPriority() + 1);
+					if(promotionListener != null) {
+						promotionListener.promoted(p.getId(), p.getPriority());
+					}
+				}
+			}
+			if(node.left != null) { // A node with no left child has no right one
+				node = node.left;
+			}else {
+				while(node.parent != null && (node.parent.right == node || node.parent.right == null)) {
+					node = node.parent;
+				}
+				node = (node.parent == null) ? null : node.parent.right;
+			}
+		}
+	}
+}
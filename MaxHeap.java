@@ -1,7 +1,23 @@
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.function.Consumer;
+
 /**
  * MaxHeap class. A class the provides the max-heap data structure, specifically
  * designed for processes, defined by the Process class.
  * 
+ * The heap is d-ary, with the arity chosen at construction time (2 by default).
+ * Node i >= 1 has children d*i to d*i + d - 1 and parent i / d, while the root
+ * at index 0 has children 1 to d - 1. With an arity of 4 or 8, the children
+ * a node compares in maxHeapify sit next to each other in memory, and the tree
+ * is two or three times shallower than the binary one.
+ * 
+ * Both sifts move a hole rather than swapping: the Process being placed is
+ * held aside while the nodes it passes shift one level into the hole, and
+ * it is stored once where it stops. That is one store per level instead of
+ * the three of a swap.
+ * 
  * @author Peyton Lundquist
  * @date 10/13/2021
  */
@@ -9,8 +25,44 @@ public class MaxHeap {
 	protected int heapSize;
 	protected final int ARRAYSIZE = 11;
 	protected Process[] A;
+	protected final int arity;
+	static final int PARALLEL_SORT_THRESHOLD = 1 << 20; // Sizes heapSort hands to Arrays.parallelSort
+	// Smallest heap heapSort hands to Arrays.parallelSort: PARALLEL_SORT_THRESHOLD
+	// with more than one processor, none with one. Tests lower it.
+	static int parallelSortThreshold = (Runtime.getRuntime().availableProcessors() > 1)
+			? PARALLEL_SORT_THRESHOLD : Integer.MAX_VALUE;
+	// The order of Process.compareTo, made consistent for the merge sort of
+	// Arrays.parallelSort: compareTo never returns 0, and orders two Processes
+	// of equal priority and arrival time each before the other. Those go by id.
+	private static final Comparator<Process> SORT_ORDER = (a, b) -> {
+		if(a.getPriority() != b.getPriority()) {
+			return Integer.compare(a.getPriority(), b.getPriority());
+		}
+		if(a.getArrivalTime() != b.getArrivalTime()) {
+			return Integer.compare(b.getArrivalTime(), a.getArrivalTime()); // Earlier arrival is greater
+		}
+		return Integer.compare(b.getId(), a.getId());
+	};
+	private final int shift; // log2(arity)
+	private int siftLevels;      // Counts of the current operation, kept only
+	private int siftComparisons; // when HeapMetrics.ENABLED
+	private int siftMoves;
+	private int[] frontier = new int[0]; // Candidate indices of heapExtractMaxBatch, kept for reuse
 	
 	public MaxHeap() {
+		this(2);
+	}
+	
+	/**
+	 * Constructor for a d-ary heap
+	 * @param arity Number of children per node: 2, 4, 8 or any larger power of two
+	 */
+	public MaxHeap(int arity) {
+		if(arity < 2 || Integer.bitCount(arity) != 1) {
+			throw new IllegalArgumentException("Heap arity must be a power of two >= 2.");
+		}
+		this.arity = arity;
+		shift = Integer.numberOfTrailingZeros(arity);
 		A = new Process[ARRAYSIZE];
 		heapSize = 0;
 	}
@@ -20,53 +72,191 @@ public class MaxHeap {
 	 * @param i The index in the heap, which to call maxHeapify on
 	 */
 	public void maxHeapify(int i) {
-		int l = left(i);
-		int r = right(i);
-		int largest;
-		if((l < heapSize) && (A[l].compareTo(A[i]) > 0)) {       // If left node is greater than parent
-			largest = l;
-		}else {
-			largest = i;
-		}
-		if((r < heapSize) && (A[r].compareTo(A[largest]) > 0)) { // If right node is greater than largest
-			largest = r;
-		}
-		if(largest != i) { 					 // If the largest node isn't the parent
-			Process tempProcess = A[i];
+		siftDown(i, A[i]);
+	}
+	
+	/**
+	 * Places a Process at or below index i, moving the hole at i down past
+	 * every child greater than the Process.
+	 * @param i Index of the hole
+	 * @param p Process to place
+	 */
+	private void siftDown(int i, Process p) {
+		int last = heapSize - 1;
+		int lastParent = (last >= 1) ? parent(last) : -1;
+		while(i <= lastParent) {
+			int l = (i == 0) ? 1 : left(i); // Root's first child slot is itself
+			int r = Math.min(right(i), last);
+			int largest = l;
+			for(int c = l + 1; c <= r; c++) {
+				if(A[c].compareTo(A[largest]) > 0) { // If child node is greater than largest
+					largest = c;
+				}
+			}
+			if(HeapMetrics.ENABLED) {
+				siftComparisons += r - l + 1;
+			}
+			if(A[largest].compareTo(p) <= 0) { // If no child is greater than the Process
+				break;
+			}
 			A[i] = A[largest];
-			A[largest] = tempProcess;
-			maxHeapify(largest);
+			i = largest;
+			if(HeapMetrics.ENABLED) {
+				siftLevels++;
+				siftMoves++;
+			}
 		}
+		A[i] = p;
+	}
+	
+	/**
+	 * Places a Process at or above index i, moving the hole at i up past
+	 * every ancestor less than the Process.
+	 * @param i Index of the hole
+	 * @param p Process to place
+	 */
+	private void siftUp(int i, Process p) {
+		while(i > 0) {
+			int parent = parent(i);
+			if(HeapMetrics.ENABLED) {
+				siftComparisons++;
+			}
+			if(p.compareTo(A[parent]) <= 0) {
+				break;
+			}
+			A[i] = A[parent];
+			i = parent;
+			if(HeapMetrics.ENABLED) {
+				siftLevels++;
+				siftMoves++;
+			}
+		}
+		A[i] = p;
 	}
 	
 	/**
 	 * Build a max-heap by copying an argument Process[], then calling maxHeapify
-	 * on each process, from the bottom up, left to right.
+	 * on each process, from the bottom up, right to left.
 	 * @param A Process[] to build a max-heap with
 	 */
 	public void buildMaxHeap(Process[] A) {
-		this.A = new Process[A.length];
-		for(int i = 1; i < A.length; i++) { // Copy array
-			this.A[i] = A[i];
+		this.A = new Process[Math.max(ARRAYSIZE, A.length + 1)];
+		System.arraycopy(A, 0, this.A, 0, A.length); // Copy array
+		heapSize = A.length;
+		heapifyFrom(heapSize - 1);
+	}
+	
+	/**
+	 * Insertion of a batch of Processes into a max-heap. A large batch is
+	 * appended and the heap rebuilt bottom-up in O(n + k), a small one is
+	 * inserted one Process at a time in O(k log n).
+	 * @param batch Processes to insert
+	 */
+	public void maxHeapInsertAll(Collection<Process> batch) {
+		int k = batch.size();
+		int n = heapSize + k;
+		ensureHeapSpace(n);
+		if(!rebuildCheaper(k, n)) {
+			for(Process p : batch) {
+				maxHeapInsert(p);
+			}
+			return;
 		}
-		heapSize = this.A.length - 1;
-		for(int i = Math.floorDiv(this.A.length, 2); i > 0; i--) {
-			maxHeapify(i);
+		for(Process p : batch) {
+			A[heapSize++] = p;
+		}
+		heapifyFrom(heapSize - 1);
+	}
+	
+	/**
+	 * Moves every Process of another heap into this one, leaving the other
+	 * heap empty. When the other heap is large, its array is appended and
+	 * the heap rebuilt bottom-up in O(n + k); when it is small, its Processes
+	 * are inserted one at a time in O(k log n). The heaps may differ in arity.
+	 * @param other Heap to meld in
+	 */
+	public void meld(MaxHeap other) {
+		int k = other.heapSize;
+		if(other == this || k == 0) {
+			return;
+		}
+		int n = heapSize + k;
+		ensureHeapSpace(n);
+		if(rebuildCheaper(k, n)) {
+			System.arraycopy(other.A, 0, A, heapSize, k);
+			heapSize = n;
+			heapifyFrom(heapSize - 1);
+		}else {
+			for(int i = 0; i < k; i++) { // Parents first, so most inserts stop early
+				maxHeapInsert(other.A[i]);
+			}
+		}
+		other.heapSize = 0;
+	}
+	
+	/**
+	 * Whether adding k Processes to make a heap of n is cheaper by rebuilding
+	 * it bottom-up, at about 2n moves, than by k inserts of up to log2(n) levels.
+	 * @param k Number of Processes added
+	 * @param n Heap size after adding them
+	 * @return true to rebuild, false to insert
+	 */
+	private static boolean rebuildCheaper(int k, int n) {
+		int depth = 32 - Integer.numberOfLeadingZeros(n); // log2(n) levels per insert, at worst
+		return (long) k * depth > 2L * n;
+	}
+	
+	/**
+	 * Calls maxHeapify on every parent node from that of index last down to the root.
+	 * @param last Index of the last node in the heap
+	 */
+	private void heapifyFrom(int last) {
+		if(HeapMetrics.ENABLED) {
+			beginOperation();
+		}
+		if(last >= 1) {
+			for(int i = parent(last); i >= 0; i--) {
+				maxHeapify(i);
+			}
+		}
+		if(HeapMetrics.ENABLED) {
+			endOperation(HeapMetrics.BUILD);
 		}
 	}
 	
 	/**
 	 * Insertion of a Process into a max-heap, while mainting max-heap property.
 	 * @param p Process to insert
-	 * @throws Exception
 	 */
-	public void maxHeapInsert(Process p) throws Exception {
-		int key = p.getPriority();
-		p.setPriority(Integer.MIN_VALUE); // Insures the node starts at the bottom of the heap
+	public void maxHeapInsert(Process p) {
+		if(HeapMetrics.ENABLED) {
+			beginOperation();
+		}
 		doubleHeapSpace();
-		A[heapSize] = p;
 		heapSize++;
-		heapIncreaseKey(heapSize - 1, p, key);
+		siftUp(heapSize - 1, p);
+		if(HeapMetrics.ENABLED) {
+			endOperation(HeapMetrics.INSERT);
+		}
+	}
+	
+	/**
+	 * Grows the heap space to hold at least size Processes.
+	 * @param size Number of Processes the heap must hold
+	 */
+	private void ensureHeapSpace(int size) {
+		if(size >= A.length - 1) {
+			int newSize = A.length * 2;
+			while(size >= newSize - 1) {
+				newSize *= 2;
+			}
+			if(HeapMetrics.ENABLED) {
+				HeapMetrics.resize(A.length, newSize);
+			}
+			Process[] temp = new Process[newSize];
+			System.arraycopy(A, 0, temp, 0, heapSize);
+			A = temp;
+		}
 	}
 	
 	/**
@@ -75,6 +265,9 @@ public class MaxHeap {
 	private void doubleHeapSpace() {
 		if(heapSize >= A.length - 1) {
 			int newSize = A.length * 2;
+			if(HeapMetrics.ENABLED) {
+				HeapMetrics.resize(A.length, newSize);
+			}
 			Process[] temp = new Process[newSize];
 			System.arraycopy(A, 0, temp, 0, A.length-1); // Copies array over
 			A = temp;
@@ -90,39 +283,194 @@ public class MaxHeap {
 		if(heapSize < 1) {
 			throw new HeapUnderFlowException("Heap size is less than one.");
 		}
+		return removeMax();
+	}
+	
+	/**
+	 * Extracts up to k Processes of highest priority, highest first. When k
+	 * extractions would cost more than rebuilding the heap, the top k are
+	 * instead found through a frontier of candidate nodes grown from the
+	 * root, in O(k log k), taken out together, and the rest of the heap is
+	 * rebuilt bottom-up once in O(n). Otherwise they are extracted one at a
+	 * time in O(k log n).
+	 * @param k Most Processes to extract
+	 * @param sink Receives each extracted Process in order
+	 * @return Number of Processes extracted
+	 */
+	public int heapExtractMaxBatch(int k, Consumer<Process> sink) {
+		int n = Math.min(k, heapSize);
+		if(n < 1) {
+			return 0;
+		}
+		if(!rebuildCheaper(n, heapSize)) {
+			for(int i = 0; i < n; i++) {
+				sink.accept(removeMax());
+			}
+			return n;
+		}
+		int last = heapSize - 1;
+		int capacity = Math.min(heapSize, 1 + n * (arity - 1));
+		if(frontier.length < capacity) {
+			frontier = new int[capacity];
+		}
+		frontier[0] = 0;
+		int size = 1;
+		for(int taken = 0; taken < n; taken++) {
+			int top = frontier[0]; // Pop the greatest candidate
+			int moved = frontier[--size];
+			int i = 0;
+			while(2 * i + 1 < size) {
+				int c = 2 * i + 1;
+				if(c + 1 < size && A[frontier[c + 1]].compareTo(A[frontier[c]]) > 0) {
+					c++;
+				}
+				if(A[frontier[c]].compareTo(A[moved]) <= 0) {
+					break;
+				}
+				frontier[i] = frontier[c];
+				i = c;
+			}
+			frontier[i] = moved;
+			int l = (top == 0) ? 1 : left(top);
+			int r = Math.min(right(top), last);
+			for(int child = l; child <= r; child++) { // Its children become candidates
+				int j = size++;
+				while(j > 0 && A[child].compareTo(A[frontier[(j - 1) / 2]]) > 0) {
+					frontier[j] = frontier[(j - 1) / 2];
+					j = (j - 1) / 2;
+				}
+				frontier[j] = child;
+			}
+			sink.accept(A[top]);
+			A[top] = null;
+		}
+		int j = 0;
+		for(int i = 0; i <= last; i++) { // Close up the gaps, then rebuild
+			if(A[i] != null) {
+				A[j++] = A[i];
+			}
+		}
+		Arrays.fill(A, j, heapSize, null);
+		heapSize = j;
+		heapifyFrom(heapSize - 1);
+		return n;
+	}
+	
+	/**
+	 * Removes the Max Process from a heap that is not empty.
+	 * @return Process with maximum priority key
+	 */
+	private Process removeMax() {
+		if(HeapMetrics.ENABLED) {
+			beginOperation();
+		}
 		Process max = A[0];
-		A[0] = A[heapSize-1];
 		heapSize = heapSize - 1;
-		maxHeapify(0);		
+		if(heapSize > 0) {
+			siftDown(0, A[heapSize]);
+		}
+		if(HeapMetrics.ENABLED) {
+			endOperation(HeapMetrics.EXTRACT);
+		}
 		return max;
 	}
 	/**
-	 * Increases the priority key of the given Process.
+	 * Sorts the heap's Processes in place, lowest first, by swapping the
+	 * maximum to the end of the heap and calling maxHeapify on the shrunken
+	 * heap, for O(n log n) with no extra space. Heaps of at least
+	 * PARALLEL_SORT_THRESHOLD Processes are instead sorted by
+	 * Arrays.parallelSort, a parallel merge sort, in the same order with
+	 * ties broken by id, when more than one processor is available.
+	 * Either way the heap is left empty, with its array holding the sorted
+	 * Processes.
+	 * @return The heap's array, sorted from index 0 to the old heap size
+	 */
+	public Process[] heapSort() {
+		if(sortsInParallel(heapSize)) {
+			Arrays.parallelSort(A, 0, heapSize, SORT_ORDER);
+			heapSize = 0;
+			return A;
+		}
+		while(heapSize > 1) {
+			Process max = A[0];
+			heapSize--;
+			A[0] = A[heapSize];
+			A[heapSize] = max;
+			maxHeapify(0);
+		}
+		heapSize = 0;
+		return A;
+	}
+	
+	/**
+	 * Sorts an array of Processes in place, lowest first, by building a
+	 * max-heap over it and calling heapSort. The array is not copied.
+	 * @param processes Processes to sort
+	 */
+	public static void heapSort(Process[] processes) {
+		MaxHeap heap = new MaxHeap();
+		heap.A = processes;
+		heap.heapSize = processes.length;
+		if(!sortsInParallel(processes.length)) {
+			heap.heapifyFrom(heap.heapSize - 1);
+		}
+		heap.heapSort();
+	}
+	
+	private static boolean sortsInParallel(int n) {
+		return n >= parallelSortThreshold;
+	}
+	
+	/**
+	 * Increases the priority key of the given Process and places it at
+	 * index i, moving it up as far as the new key allows.
 	 * @param i The index of the process
 	 * @param p Process to increase priority key
 	 * @param key Priority key value to update Process to
-	 * @throws Exception
+	 * @return false, leaving the heap and the Process unchanged, if key is
+	 * lower than the priority of the Process at index i, true otherwise
 	 */
-	public void heapIncreaseKey(int i, Process p, int key) throws Exception {
-		p.setPriority(key);
-		if(p.getPriority() < A[i].getPriority()) { // If the key isn't being increased
-			throw new Exception();
+	public boolean heapIncreaseKey(int i, Process p, int key) {
+		if(key < A[i].getPriority()) { // If the key isn't being increased
+			return false;
 		}
-		A[i] = p;
-		while((i > 0) && (A[i].compareTo(A[parent(i)]) > 0)) {
-			Process tempProcess = A[i];
-			A[i] = A[parent(i)];
-			A[parent(i)] = tempProcess;
-			i = parent(i);
+		if(HeapMetrics.ENABLED) {
+			beginOperation();
+		}
+		p.setPriority(key);
+		siftUp(i, p);
+		if(HeapMetrics.ENABLED) {
+			endOperation(HeapMetrics.INCREASE_KEY);
 		}
+		return true;
+	}
+	
+	/**
+	 * Clears the counts of the operation about to start.
+	 */
+	private void beginOperation() {
+		siftLevels = 0;
+		siftComparisons = 0;
+		siftMoves = 0;
+	}
+	
+	/**
+	 * Reports the counts of the operation just finished to HeapMetrics.
+	 * @param op The operation, from HeapMetrics
+	 */
+	private void endOperation(int op) {
+		HeapMetrics.operation(op, siftLevels, siftComparisons, siftMoves, heapSize);
 	}
 	
 	/**
 	 * Returns the heap's maximum Process.
-	 * @return The Process with the highest priority key
+	 * @return The Process with the highest priority key, or null if the heap is empty
 	 */
 	public Process heapMaximum() {
-		return A[1];
+		if(heapSize < 1) {
+			return null;
+		}
+		return A[0];
 	}
 	
 	/**
@@ -131,25 +479,33 @@ public class MaxHeap {
 	 * @return The parent index of child node
 	 */
 	private int parent(int i) {
-		return i >> 1;
+		return i >> shift;
 	}
 	
 	/**
 	 * Left node function.
 	 * @param i Index of parent
-	 * @return The left child node index of parent node
+	 * @return The left-most child node index of parent node
 	 */
 	private int left(int i) {
-		return i << 1;
+		return i << shift;
 	}
 	
 	/**
 	 * Right node function.
 	 * @param i Index of parent
-	 * @return The right child node index of parent node
+	 * @return The right-most child node index of parent node
 	 */
 	private int right(int i) {
-		return (i << 1) + 1;
+		return (i << shift) + arity - 1;
+	}
+	
+	/**
+	 * Returns the number of children per node.
+	 * @return The heap's arity
+	 */
+	public int getArity() {
+		return arity;
 	}
 	
 	/**
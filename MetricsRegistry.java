@@ -0,0 +1,103 @@
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A small registry of named counters and histograms. Counters are
+ * LongAdders, so threads can bump them without contending; histograms are
+ * LatencyHistograms behind a lock. The registry prints every metric, sorted
+ * by name, with report().
+ *
+ * @author Peyton Lundquist
+ * @date 10/17/2026
+ */
+public class MetricsRegistry {
+	private final Map<String, Counter> counters = new TreeMap<String, Counter>();
+	private final Map<String, Histogram> histograms = new TreeMap<String, Histogram>();
+
+	/**
+	 * Returns the counter of a name, creating it if needed.
+	 * @param name Name of the counter
+	 * @return The counter
+	 */
+	public synchronized Counter counter(String name) {
+		return counters.computeIfAbsent(name, n -> new Counter());
+	}
+
+	/**
+	 * Returns the histogram of a name, creating it if needed.
+	 * @param name Name of the histogram
+	 * @return The histogram
+	 */
+	public synchronized Histogram histogram(String name) {
+		return histograms.computeIfAbsent(name, n -> new Histogram());
+	}
+
+	/**
+	 * Prints every counter, then the count, mean and percentiles of every
+	 * histogram that recorded something.
+	 * @param out Stream to print to
+	 */
+	public synchronized void report(PrintStream out) {
+		for(Map.Entry<String, Counter> entry : counters.entrySet()) {
+			out.println(entry.getKey() + ": " + entry.getValue().get());
+		}
+		for(Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+			LatencyHistogram h = entry.getValue().snapshot();
+			if(h.getTotalCount() == 0) {
+				continue;
+			}
+			out.printf("%s: count %d, mean %.2f, p50 %d, p99 %d, max %d%n", entry.getKey(), h.getTotalCount(),
+					entry.getValue().getMean(), h.getValueAtPercentile(50), h.getValueAtPercentile(99), h.getMax());
+		}
+	}
+
+	/**
+	 * A counter that many threads may add to.
+	 */
+	public static class Counter {
+		private final LongAdder adder = new LongAdder();
+
+		public void increment() {
+			adder.increment();
+		}
+
+		public void add(long n) {
+			adder.add(n);
+		}
+
+		public long get() {
+			return adder.sum();
+		}
+	}
+
+	/**
+	 * A histogram that many threads may record to.
+	 */
+	public static class Histogram {
+		private final LatencyHistogram histogram = new LatencyHistogram();
+		private long sum;
+
+		public synchronized void record(long value) {
+			histogram.record(value);
+			sum += value;
+		}
+
+		/**
+		 * @return The mean of the recorded values, NaN if there are none
+		 */
+		public synchronized double getMean() {
+			return (double) sum / histogram.getTotalCount();
+		}
+
+		/**
+		 * @return A copy of the values recorded so far
+		 */
+		public synchronized LatencyHistogram snapshot() {
+			LatencyHistogram copy = new LatencyHistogram();
+			copy.merge(histogram);
+			return copy;
+		}
+	}
+}
@@ -0,0 +1,177 @@
+/**
+ * MultilevelFeedbackQueue schedules with a multilevel feedback queue. New
+ * Processes start at the top level, and each level runs its Processes
+ * round-robin, one time unit at a time. A Process that has used up its
+ * allotment of ALLOTMENT << level time units at a level moves down one
+ * level, so long jobs sink and short ones finish near the top. Priorities
+ * are ignored.
+ *
+ * To keep long jobs from starving, every timeToIncrementPriority * LEVELS
+ * calls to update every queued Process is boosted back to the top level.
+ * Each level is a linked list over a slot table, so a boost appends the
+ * lower levels to the top one in constant time. The time a Process has
+ * used is kept in its virtual time, stamped with the number of boosts so
+ * far, and a stale stamp counts as no time used.
+ *
+ * @author Peyton Lundquist
+ * @date 10/17/2026
+ */
+public class MultilevelFeedbackQueue implements PriorityQueueInterface {
+	public static final int LEVELS = 4;
+	public static final int ALLOTMENT = 2; // Time units at the top level
+	private static final int ARRAYSIZE = 16;
+	private static final int NONE = -1;
+
+	private final int[] heads;  // First slot of each level, NONE if empty
+	private final int[] tails;  // Last slot of each level
+	private int occupied;       // Bit l is set when level l is non-empty
+	private int size;
+	private int generation;     // Number of boosts so far
+	private long ticks;         // Calls to update since the last boost
+
+	private Process[] slots;    // Queued Processes, indexed by slot id
+	private int[] next;         // Next slot in the same level
+	private int[] freeSlots;    // Stack of released slot ids
+	private int freeCount;
+	private int slotCount;
+
+	/**
+	 * Constructor
+	 */
+	public MultilevelFeedbackQueue() {
+		heads = new int[LEVELS];
+		tails = new int[LEVELS];
+		java.util.Arrays.fill(heads, NONE);
+		slots = new Process[ARRAYSIZE];
+		next = new int[ARRAYSIZE];
+		freeSlots = new int[ARRAYSIZE];
+	}
+
+	@Override
+	public void enqueue(Process p) {
+		int slot = allocateSlot(p);
+		int l = level(used(p));
+		next[slot] = NONE;
+		if(heads[l] == NONE) {
+			heads[l] = slot;
+		}else {
+			next[tails[l]] = slot;
+		}
+		tails[l] = slot;
+		occupied |= 1 << l;
+		size++;
+	}
+
+	@Override
+	public Process dequeue() {
+		if(size == 0) {
+			return null;
+		}
+		int l = Integer.numberOfTrailingZeros(occupied);
+		int slot = heads[l];
+		heads[l] = next[slot];
+		if(heads[l] == NONE) {
+			occupied &= ~(1 << l);
+		}
+		size--;
+		Process p = slots[slot];
+		slots[slot] = null;
+		freeSlots[freeCount++] = slot;
+		p.setVirtualTime(((long) generation << 32) | (used(p) + 1));
+		return p;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Returns the number of queued Processes.
+	 * @return Number of Processes in the queue
+	 */
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public void update(Process next, int timeToIncrementPriority, int maxPriority) {
+		next.resetWaitingTime();
+		ticks++;
+		if(ticks >= (long) timeToIncrementPriority * LEVELS) {
+			boost();
+		}
+	}
+
+	/**
+	 * Moves every queued Process to the top level, keeping the levels'
+	 * order, and forgets the time every Process has used.
+	 */
+	private void boost() {
+		ticks = 0;
+		generation++;
+		int top = NONE;
+		for(int l = 0; l < LEVELS; l++) {
+			if(heads[l] == NONE) {
+				continue;
+			}
+			if(top == NONE) {
+				heads[0] = heads[l];
+			}else {
+				next[top] = heads[l];
+			}
+			top = tails[l];
+			if(l > 0) {
+				heads[l] = NONE;
+			}
+		}
+		tails[0] = top;
+		occupied = size > 0 ? 1 : 0;
+	}
+
+	/**
+	 * Returns the time a Process has used since the last boost.
+	 * @param p A Process
+	 * @return Time units used
+	 */
+	private int used(Process p) {
+		long stamp = p.getVirtualTime();
+		return (int) (stamp >>> 32) == generation ? (int) stamp : 0;
+	}
+
+	/**
+	 * Returns the level of a Process that has used the given time since the
+	 * last boost. The allotments double per level, so a Process reaches
+	 * level l after ALLOTMENT * (2^l - 1) time units.
+	 * @param used Time units used
+	 * @return Level, 0 being the top
+	 */
+	static int level(int used) {
+		int l = 31 - Integer.numberOfLeadingZeros(used / ALLOTMENT + 1);
+		return Math.min(l, LEVELS - 1);
+	}
+
+	/**
+	 * Assigns a slot to a Process, growing the slot table if needed.
+	 */
+	private int allocateSlot(Process p) {
+		int slot;
+		if(freeCount > 0) {
+			slot = freeSlots[--freeCount];
+		}else {
+			slot = slotCount++;
+			if(slot >= slots.length) {
+				int newSize = slots.length * 2;
+				Process[] tempSlots = new Process[newSize];
+				int[] tempNext = new int[newSize];
+				System.arraycopy(slots, 0, tempSlots, 0, slots.length);
+				System.arraycopy(next, 0, tempNext, 0, next.length);
+				slots = tempSlots;
+				next = tempNext;
+				freeSlots = new int[newSize];
+			}
+		}
+		slots[slot] = p;
+		return slot;
+	}
+}
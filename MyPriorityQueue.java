@@ -1,3 +1,6 @@
+import java.util.Collection;
+import java.util.function.Consumer;
+
 /**
  * MyPriorityQueue extends the MAxHeap class and provides a priority
  * queue structure.
@@ -6,6 +9,7 @@
  * @date 10/13/2021
  */
 public class MyPriorityQueue extends MaxHeap implements PriorityQueueInterface {
+	private PromotionListener promotionListener;
 	
 	/**
 	 * Constructer
@@ -14,13 +18,17 @@ public class MyPriorityQueue extends MaxHeap implements PriorityQueueInterface {
 		super();
 	}
 	
+	/**
+	 * Constructor for a queue backed by a d-ary heap
+	 * @param arity Number of children per heap node
+	 */
+	public MyPriorityQueue(int arity) {
+		super(arity);
+	}
+	
 	@Override
 	public void enqueue(Process p) {
-		try {
-			maxHeapInsert(p);
-		} catch (Exception e) {
-			e.printStackTrace();
-		}
+		maxHeapInsert(p);
 	}
 
 	@Override
@@ -34,6 +42,36 @@ public class MyPriorityQueue extends MaxHeap implements PriorityQueueInterface {
 		return null;
 	}
 
+	@Override
+	public void enqueueAll(Collection<Process> processes) {
+		maxHeapInsertAll(processes);
+	}
+
+	@Override
+	public int dequeueBatch(int k, Consumer<Process> sink) {
+		return heapExtractMaxBatch(k, sink);
+	}
+
+	@Override
+	public void meld(PriorityQueueInterface other) {
+		if(other.getClass() == MyPriorityQueue.class) { // Not a subclass that keeps Processes elsewhere
+			meld((MaxHeap) other);
+		}else {
+			PriorityQueueInterface.super.meld(other);
+		}
+	}
+
+	/**
+	 * With nothing else queued, update only resets the running Process's
+	 * waiting time, so the time units are run at once.
+	 */
+	@Override
+	public Process runAlone(Process p, int units, int timeToIncrementPriority, int maxPriority) {
+		p.decrementTimeRemaining(units);
+		update(p, timeToIncrementPriority, maxPriority);
+		return p;
+	}
+
 	@Override
 	public boolean isEmpty() {
 		if(getHeapSize() > 0) {
@@ -42,20 +80,25 @@ public class MyPriorityQueue extends MaxHeap implements PriorityQueueInterface {
 		return true;
 	}
 
+	@Override
+	public void setPromotionListener(PromotionListener listener) {
+		promotionListener = listener;
+	}
+
 	@Override
 	public void update(Process next, int timeToIncrementPriority, int maxPriority) {
 		next.resetWaitingTime();
-		for(int i = 0; i < heapSize; i++) {
-			A[i].incrementWaitingTime();
-			if(A[i].getWaitingTime() >= timeToIncrementPriority) {
-				A[i].resetWaitingTime();
-				if((A[i].getPriority()) < maxPriority) {
-					A[i].setPriority(A[i].getPriority() + 1);
-					try {
-						heapIncreaseKey(i, A[i], A[i].getPriority());
-					} catch (Exception e) {
-						// TODO Auto-generated catch block
-						e.printStackTrace();
+		Process[] heap = A;   // Neither changes in the loop, and locals keep
+		int n = heapSize;     // the JIT from reloading them every iteration
+		for(int i = 0; i < n; i++) {
+			Process p = heap[i];
+			p.incrementWaitingTime();
+			if(p.getWaitingTime() >= timeToIncrementPriority) {
+				p.resetWaitingTime();
+				if(p.getPriority() < maxPriority) {
+					heapIncreaseKey(i, p, p.getPriority() + 1);
+					if(promotionListener != null) {
+						promotionListener.promoted(p.getId(), p.getPriority());
 					}
 				}
 			}
@@ -0,0 +1,53 @@
+/**
+ * Discards every event of a CPUScheduling run. Used to benchmark the
+ * scheduling itself, without any output cost.
+ *
+ * @author Peyton Lundquist
+ * @date 10/17/2026
+ */
+public class NullSink implements SimulationSink {
+	@Override
+	public void start(int cores) {
+	}
+
+	@Override
+	public void tickStart(int time) {
+	}
+
+	@Override
+	public void arrival(int time, Process p) {
+	}
+
+	@Override
+	public void dispatch(int time, int cpu, Process p) {
+	}
+
+	@Override
+	public void tickEnd(int time) {
+	}
+
+	@Override
+	public void idle(int from, int to) {
+	}
+
+	@Override
+	public boolean needsEveryTick() {
+		return false;
+	}
+
+	@Override
+	public void summary(int simulationTime, Averager turnaround) {
+	}
+
+	@Override
+	public void coreSummary(boolean perCoreQueues, Averager[] utilization, Averager[] turnaround) {
+	}
+
+	@Override
+	public void statistics(Averager turnaround, LatencyHistogram histogram) {
+	}
+
+	@Override
+	public void close() {
+	}
+}
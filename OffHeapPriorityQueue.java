@@ -0,0 +1,253 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * OffHeapPriorityQueue is a priority queue that keeps its Processes outside
+ * the Java heap. Each queued Process is stored as a fixed-width record of
+ * its id, priority, arrival time, service time, time remaining and
+ * waiting time in
+ * direct ByteBuffers, and the records themselves form the max-heap, so no
+ * Process object is kept alive while it waits.
+ *
+ * The records live in chunks of CHUNK_RECORDS. The queue grows by adding a
+ * chunk, without copying the existing records, and releases trailing
+ * chunks as it drains. The ordering and aging are those of
+ * MyPriorityQueue.
+ *
+ * dequeue returns a Process rebuilt from the record, not the object that
+ * was enqueued: a caller that keeps an enqueued Process sees none of the
+ * aging done while it is queued. Rebuilding allocates a Process per
+ * dequeue unless a ProcessPool is set, in which case enqueue releases each
+ * Process to the pool once its record is written and dequeue acquires the
+ * one it returns from there, so nothing else may keep a reference to a
+ * Process once it is enqueued.
+ *
+ * Large queues need a matching -XX:MaxDirectMemorySize.
+ *
+ * @author Peyton Lundquist
+ * @date 10/17/2026
+ */
+public class OffHeapPriorityQueue implements PriorityQueueInterface {
+	private static final int CHUNK_SHIFT = 16;
+	private static final int CHUNK_RECORDS = 1 << CHUNK_SHIFT;
+	private static final int CHUNK_MASK = CHUNK_RECORDS - 1;
+
+	// Record layout, in bytes
+	private static final int PRIORITY = 0;
+	private static final int ARRIVAL = 4;
+	private static final int REMAINING = 8;
+	private static final int WAITING = 12;
+	private static final int ID = 16;
+	private static final int SERVICE = 20;
+	private static final int RECORD_BYTES = 24;
+
+	private ByteBuffer[] chunks;
+	private int chunkCount;
+	private int heapSize;
+	private PromotionListener promotionListener;
+	private ProcessPool pool;  // Recycles the Processes of the records, null when not pooling
+
+	/**
+	 * Constructor
+	 */
+	public OffHeapPriorityQueue() {
+		chunks = new ByteBuffer[4];
+		chunkCount = 0;
+		heapSize = 0;
+	}
+
+	@Override
+	public void enqueue(Process p) {
+		if(heapSize == chunkCount << CHUNK_SHIFT) {
+			addChunk();
+		}
+		int i = heapSize;
+		heapSize++;
+		siftUp(i, p.getId(), p.getPriority(), p.getArrivalTime(), p.getServiceTime(), p.getTimeRemaining(),
+				p.getWaitingTime());
+		if(pool != null) {
+			pool.release(p);
+		}
+	}
+
+	@Override
+	public Process dequeue() {
+		if(heapSize < 1) {
+			return null;
+		}
+		ByteBuffer chunk = chunks[0];
+		Process max = (pool == null)
+				? new Process(chunk.getInt(ID), chunk.getInt(ARRIVAL), chunk.getInt(SERVICE),
+						chunk.getInt(REMAINING), chunk.getInt(PRIORITY))
+				: pool.acquire(chunk.getInt(ID), chunk.getInt(ARRIVAL), chunk.getInt(SERVICE),
+						chunk.getInt(REMAINING), chunk.getInt(PRIORITY));
+		max.setWaitingTime(chunk.getInt(WAITING));
+		heapSize--;
+		if(heapSize > 0) {
+			ByteBuffer last = chunks[heapSize >>> CHUNK_SHIFT];
+			int at = offset(heapSize);
+			siftDown(0, last.getInt(at + ID), last.getInt(at + PRIORITY), last.getInt(at + ARRIVAL),
+					last.getInt(at + SERVICE), last.getInt(at + REMAINING), last.getInt(at + WAITING));
+		}
+		if(chunkCount > 1 && heapSize < (chunkCount - 2) << CHUNK_SHIFT) { // Keep one spare chunk
+			chunks[--chunkCount] = null;
+		}
+		return max;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return heapSize == 0;
+	}
+
+	/**
+	 * Returns the number of queued Processes.
+	 * @return Number of Processes in the queue
+	 */
+	public int size() {
+		return heapSize;
+	}
+
+	/**
+	 * Sets the pool the Processes of the records are recycled through. With
+	 * a pool, every enqueued Process goes to it, so the caller must hold no
+	 * other reference to the Process, as for ProcessPool.release.
+	 * @param pool Pool to use, or null to allocate a Process per dequeue
+	 */
+	public void setPool(ProcessPool pool) {
+		this.pool = pool;
+	}
+
+	@Override
+	public void setPromotionListener(PromotionListener listener) {
+		promotionListener = listener;
+	}
+
+	@Override
+	public void update(Process next, int timeToIncrementPriority, int maxPriority) {
+		next.resetWaitingTime();
+		for(int i = 0; i < heapSize; i++) {
+			ByteBuffer chunk = chunks[i >>> CHUNK_SHIFT];
+			int at = offset(i);
+			int waiting = chunk.getInt(at + WAITING) + 1;
+			if(waiting < timeToIncrementPriority) {
+				chunk.putInt(at + WAITING, waiting);
+				continue;
+			}
+			chunk.putInt(at + WAITING, 0);
+			int priority = chunk.getInt(at + PRIORITY);
+			if(priority < maxPriority) {
+				if(promotionListener != null) {
+					promotionListener.promoted(chunk.getInt(at + ID), priority + 1);
+				}
+				siftUp(i, chunk.getInt(at + ID), priority + 1, chunk.getInt(at + ARRIVAL),
+						chunk.getInt(at + SERVICE), chunk.getInt(at + REMAINING), 0);
+			}
+		}
+	}
+
+	/**
+	 * Moves a hole at index i up until the given record fits, then writes it there.
+	 */
+	private void siftUp(int i, int id, int priority, int arrival, int service, int remaining, int waiting) {
+		while(i > 0) {
+			int parent = (i - 1) >>> 1;
+			ByteBuffer chunk = chunks[parent >>> CHUNK_SHIFT];
+			int at = offset(parent);
+			if(!before(priority, arrival, chunk.getInt(at + PRIORITY), chunk.getInt(at + ARRIVAL))) {
+				break;
+			}
+			copy(parent, i);
+			i = parent;
+		}
+		write(i, id, priority, arrival, service, remaining, waiting);
+	}
+
+	/**
+	 * Moves a hole at index i down until the given record fits, then writes it there.
+	 */
+	private void siftDown(int i, int id, int priority, int arrival, int service, int remaining, int waiting) {
+		int half = heapSize >>> 1;
+		while(i < half) {
+			int child = (i << 1) + 1;
+			ByteBuffer chunk = chunks[child >>> CHUNK_SHIFT];
+			int at = offset(child);
+			int childPriority = chunk.getInt(at + PRIORITY);
+			int childArrival = chunk.getInt(at + ARRIVAL);
+			int right = child + 1;
+			if(right < heapSize) {
+				ByteBuffer rightChunk = chunks[right >>> CHUNK_SHIFT];
+				int rightAt = offset(right);
+				int rightPriority = rightChunk.getInt(rightAt + PRIORITY);
+				int rightArrival = rightChunk.getInt(rightAt + ARRIVAL);
+				if(before(rightPriority, rightArrival, childPriority, childArrival)) {
+					child = right;
+					childPriority = rightPriority;
+					childArrival = rightArrival;
+				}
+			}
+			if(!before(childPriority, childArrival, priority, arrival)) {
+				break;
+			}
+			copy(child, i);
+			i = child;
+		}
+		write(i, id, priority, arrival, service, remaining, waiting);
+	}
+
+	/**
+	 * Ordering of Process.compareTo: higher priority first, then earlier arrival.
+	 * @return Boolean for if the first record goes before the second
+	 */
+	private static boolean before(int priority, int arrival, int otherPriority, int otherArrival) {
+		return priority > otherPriority || (priority == otherPriority && arrival < otherArrival);
+	}
+
+	/**
+	 * Copies the record at index from over the record at index to.
+	 */
+	private void copy(int from, int to) {
+		ByteBuffer source = chunks[from >>> CHUNK_SHIFT];
+		int at = offset(from);
+		write(to, source.getInt(at + ID), source.getInt(at + PRIORITY), source.getInt(at + ARRIVAL),
+				source.getInt(at + SERVICE), source.getInt(at + REMAINING), source.getInt(at + WAITING));
+	}
+
+	/**
+	 * Writes a record at index i.
+	 */
+	private void write(int i, int id, int priority, int arrival, int service, int remaining, int waiting) {
+		ByteBuffer chunk = chunks[i >>> CHUNK_SHIFT];
+		int at = offset(i);
+		chunk.putInt(at + ID, id);
+		chunk.putInt(at + PRIORITY, priority);
+		chunk.putInt(at + ARRIVAL, arrival);
+		chunk.putInt(at + SERVICE, service);
+		chunk.putInt(at + REMAINING, remaining);
+		chunk.putInt(at + WAITING, waiting);
+	}
+
+	/**
+	 * Byte offset of record i within its chunk.
+	 * @param i Heap index
+	 * @return Offset of the record's first byte
+	 */
+	private static int offset(int i) {
+		return (i & CHUNK_MASK) * RECORD_BYTES;
+	}
+
+	/**
+	 * Allocates one more chunk of records.
+	 */
+	private void addChunk() {
+		if(chunkCount == chunks.length) {
+			ByteBuffer[] temp = new ByteBuffer[chunks.length * 2];
+			System.arraycopy(chunks, 0, temp, 0, chunkCount);
+			chunks = temp;
+		}
+		if(chunks[chunkCount] == null) {
+			chunks[chunkCount] = ByteBuffer.allocateDirect(CHUNK_RECORDS * RECORD_BYTES).order(ByteOrder.nativeOrder());
+		}
+		chunkCount++;
+	}
+}
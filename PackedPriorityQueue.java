@@ -0,0 +1,241 @@
+/**
+ * PackedPriorityQueue is a structure-of-arrays max-heap that provides the
+ * same priority queue behavior as MyPriorityQueue. Instead of comparing
+ * Process objects, each heap node is a single long key holding the
+ * priority in the upper 32 bits and the inverted arrival time in the
+ * lower 32 bits, so a larger key always means a higher priority, with
+ * earlier arrivals winning ties, exactly as in Process.compareTo.
+ *
+ * The keys live in a long[] with a parallel int[] of slot ids, and the
+ * slot id is only used to find the Process once it leaves the heap. While
+ * a Process is queued its priority and waiting time are kept in the heap
+ * arrays, and they are written back to the Process when it is dequeued.
+ *
+ * @author Peyton Lundquist
+ * @date 10/17/2026
+ */
+public class PackedPriorityQueue implements PriorityQueueInterface {
+	protected static final int ARRAYSIZE = 16;
+	protected static final long PRIORITY_UNIT = 1L << 32;
+
+	protected int heapSize;
+	protected long[] keys;      // Packed (priority, arrival) keys, in heap order
+	protected int[] ids;        // Slot id of each heap node, in heap order
+	protected int[] waits;      // Waiting time of each heap node, in heap order
+
+	protected Process[] slots;  // Queued Processes, indexed by slot id
+	private int[] freeSlots;    // Stack of released slot ids
+	private int freeCount;
+	private int slotCount;
+	protected PromotionListener promotionListener;
+
+	/**
+	 * Constructor
+	 */
+	public PackedPriorityQueue() {
+		keys = new long[ARRAYSIZE];
+		ids = new int[ARRAYSIZE];
+		waits = new int[ARRAYSIZE];
+		slots = new Process[ARRAYSIZE];
+		freeSlots = new int[ARRAYSIZE];
+		heapSize = 0;
+	}
+
+	/**
+	 * Packs a priority and arrival time into a single heap key.
+	 * @param priority Priority level of the Process
+	 * @param arrivalTime Arrival time of the Process
+	 * @return The packed key
+	 */
+	public static long pack(int priority, int arrivalTime) {
+		return ((long) priority << 32) | (~arrivalTime & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Unpacks the priority from a heap key.
+	 * @param key Packed key
+	 * @return The priority level stored in the key
+	 */
+	public static int priorityOf(long key) {
+		return (int) (key >> 32);
+	}
+
+	@Override
+	public void enqueue(Process p) {
+		ensureCapacity();
+		int slot = allocateSlot(p);
+		int i = heapSize;
+		heapSize++;
+		place(i, pack(p.getPriority(), p.getArrivalTime()), slot, p.getWaitingTime());
+		siftUp(i);
+	}
+
+	@Override
+	public Process dequeue() {
+		if(heapSize < 1) {
+			return null;
+		}
+		Process max = slots[ids[0]];
+		max.setPriority(priorityOf(keys[0]));
+		max.setWaitingTime(waitingTime(0));
+		releaseSlot(ids[0]);
+		heapSize--;
+		if(heapSize > 0) {
+			place(0, keys[heapSize], ids[heapSize], waits[heapSize]);
+			siftDown(0);
+		}
+		return max;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return heapSize == 0;
+	}
+
+	/**
+	 * Returns the number of queued Processes.
+	 * @return Number of Processes in the queue
+	 */
+	public int size() {
+		return heapSize;
+	}
+
+	@Override
+	public void setPromotionListener(PromotionListener listener) {
+		promotionListener = listener;
+	}
+
+	@Override
+	public void update(Process next, int timeToIncrementPriority, int maxPriority) {
+		next.resetWaitingTime();
+		for(int i = 0; i < heapSize; i++) {
+			waits[i]++;
+			if(waits[i] >= timeToIncrementPriority) {
+				waits[i] = 0;
+				if(priorityOf(keys[i]) < maxPriority) {
+					keys[i] += PRIORITY_UNIT;
+					if(promotionListener != null) {
+						promotionListener.promoted(slots[ids[i]].getId(), priorityOf(keys[i]));
+					}
+					siftUp(i);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the waiting time of the node at heap index i.
+	 * @param i Heap index
+	 * @return Waiting time of the queued Process
+	 */
+	protected int waitingTime(int i) {
+		return waits[i];
+	}
+
+	/**
+	 * Moves the node at index i up until its parent has a larger key.
+	 * The node is held aside and parents are shifted down into the hole,
+	 * so each level costs one store per array instead of a full swap.
+	 * @param i Index of the node to sift up
+	 */
+	protected void siftUp(int i) {
+		long key = keys[i];
+		int id = ids[i];
+		int wait = waits[i];
+		while(i > 0) {
+			int parent = (i - 1) >>> 1;
+			if(keys[parent] >= key) {
+				break;
+			}
+			place(i, keys[parent], ids[parent], waits[parent]);
+			i = parent;
+		}
+		place(i, key, id, wait);
+	}
+
+	/**
+	 * Moves the node at index i down until both children have smaller keys.
+	 * @param i Index of the node to sift down
+	 */
+	protected void siftDown(int i) {
+		long key = keys[i];
+		int id = ids[i];
+		int wait = waits[i];
+		int half = heapSize >>> 1;
+		while(i < half) {
+			int child = (i << 1) + 1;
+			int right = child + 1;
+			if(right < heapSize && keys[right] > keys[child]) {
+				child = right;
+			}
+			if(key >= keys[child]) {
+				break;
+			}
+			place(i, keys[child], ids[child], waits[child]);
+			i = child;
+		}
+		place(i, key, id, wait);
+	}
+
+	/**
+	 * Writes a node into heap index i.
+	 * @param i Heap index
+	 * @param key Packed key of the node
+	 * @param id Slot id of the node
+	 * @param wait Waiting time of the node
+	 */
+	protected void place(int i, long key, int id, int wait) {
+		keys[i] = key;
+		ids[i] = id;
+		waits[i] = wait;
+	}
+
+	/**
+	 * Stores a Process in a free slot.
+	 * @param p Process to store
+	 * @return The slot id holding the Process
+	 */
+	protected int allocateSlot(Process p) {
+		int slot;
+		if(freeCount > 0) {
+			slot = freeSlots[--freeCount];
+		}else {
+			slot = slotCount++;
+			if(slot >= slots.length) {
+				Process[] temp = new Process[slots.length * 2];
+				System.arraycopy(slots, 0, temp, 0, slots.length);
+				slots = temp;
+				freeSlots = new int[slots.length];
+			}
+		}
+		slots[slot] = p;
+		return slot;
+	}
+
+	/**
+	 * Returns a slot to the free stack.
+	 * @param slot Slot id to release
+	 */
+	protected void releaseSlot(int slot) {
+		slots[slot] = null;
+		freeSlots[freeCount++] = slot;
+	}
+
+	/**
+	 * Doubles the heap arrays when they are full.
+	 */
+	protected void ensureCapacity() {
+		if(heapSize >= keys.length) {
+			int newSize = keys.length * 2;
+			long[] tempKeys = new long[newSize];
+			int[] tempIds = new int[newSize];
+			int[] tempWaits = new int[newSize];
+			System.arraycopy(keys, 0, tempKeys, 0, heapSize);
+			System.arraycopy(ids, 0, tempIds, 0, heapSize);
+			System.arraycopy(waits, 0, tempWaits, 0, heapSize);
+			keys = tempKeys;
+			ids = tempIds;
+			waits = tempWaits;
+		}
+	}
+}
@@ -0,0 +1,220 @@
+/**
+ * PairingHeap class. A max pairing heap of Processes: a heap-ordered tree
+ * of any shape, where each node keeps its children as a linked list.
+ * Insertion and meld link two trees in O(1), and increasing a key cuts the
+ * node's subtree out and links it with the root, also in O(1). Extracting
+ * the maximum pairs up the root's children left to right, then links the
+ * pairs right to left, for O(log n) amortized.
+ *
+ * Every inserted Process gets a Node, a handle through which its key can
+ * later be increased without a search.
+ *
+ * @author Peyton Lundquist
+ * @date 10/17/2026
+ */
+public class PairingHeap {
+	protected Node root;
+	protected int size;
+
+	/**
+	 * A node of the heap, and the handle of the Process it holds.
+	 */
+	public static class Node {
+		private Process process;
+		private Node child;  // First child
+		private Node next;   // Next sibling
+		private Node prev;   // Previous sibling, or the parent of a first child
+
+		Node(Process process) {
+			this.process = process;
+		}
+
+		/**
+		 * @return The Process held by this node
+		 */
+		public Process getProcess() {
+			return process;
+		}
+
+		void setProcess(Process process) {
+			this.process = process;
+		}
+	}
+
+	public PairingHeap() {
+		root = null;
+		size = 0;
+	}
+
+	/**
+	 * Insertion of a Process into the heap.
+	 * @param p Process to insert
+	 * @return The handle of the Process
+	 */
+	public Node insert(Process p) {
+		Node node = new Node(p);
+		insert(node);
+		return node;
+	}
+
+	/**
+	 * Insertion of a detached node into the heap.
+	 * @param node Node to insert, with its Process set
+	 */
+	protected void insert(Node node) {
+		node.child = null;
+		node.next = null;
+		node.prev = null;
+		root = (root == null) ? node : link(root, node);
+		size++;
+	}
+
+	/**
+	 * Extracts the Max Process from the heap.
+	 * @return Process with maximum priority key
+	 * @throws HeapUnderFlowException
+	 */
+	public Process extractMax() throws HeapUnderFlowException {
+		if(size < 1) {
+			throw new HeapUnderFlowException("Heap size is less than one.");
+		}
+		return extractMaxNode().process;
+	}
+
+	/**
+	 * Removes the root node from the heap.
+	 * @return The detached root
+	 */
+	protected Node extractMaxNode() {
+		Node max = root;
+		root = combineSiblings(max.child);
+		if(root != null) {
+			root.prev = null;
+		}
+		max.child = null;
+		size--;
+		return max;
+	}
+
+	/**
+	 * Returns the heap's maximum Process.
+	 * @return The Process with the highest priority key, or null if the heap is empty
+	 */
+	public Process maximum() {
+		return (root == null) ? null : root.process;
+	}
+
+	/**
+	 * Increases the priority key of a queued Process. Unless the node is the
+	 * root, its subtree is cut out and linked with the root.
+	 * @param node Handle of the Process
+	 * @param key Priority key value to update the Process to
+	 * @return false, leaving the heap and the Process unchanged, if key is
+	 * lower than the Process's priority, true otherwise
+	 */
+	public boolean increaseKey(Node node, int key) {
+		if(key < node.process.getPriority()) { // If the key isn't being increased
+			return false;
+		}
+		node.process.setPriority(key);
+		if(node == root) {
+			return true;
+		}
+		if(node.prev.child == node) { // First child: prev is the parent
+			node.prev.child = node.next;
+		}else {
+			node.prev.next = node.next;
+		}
+		if(node.next != null) {
+			node.next.prev = node.prev;
+		}
+		node.next = null;
+		node.prev = null;
+		root = link(root, node);
+		return true;
+	}
+
+	/**
+	 * Moves every Process of another heap into this one in O(1). The other
+	 * heap is left empty, and the handles of its Processes stay valid here.
+	 * @param other Heap to meld in
+	 */
+	public void meld(PairingHeap other) {
+		if(other == this || other.root == null) {
+			return;
+		}
+		root = (root == null) ? other.root : link(root, other.root);
+		size += other.size;
+		other.root = null;
+		other.size = 0;
+	}
+
+	/**
+	 * Returns the number of Processes in the heap.
+	 * @return Number of Processes in the heap
+	 */
+	public int getHeapSize() {
+		return size;
+	}
+
+	/**
+	 * Links two trees, making the root with the smaller key the first child
+	 * of the other.
+	 * @param a Root of a tree, with no siblings
+	 * @param b Root of a tree, with no siblings
+	 * @return The root of the linked tree
+	 */
+	private static Node link(Node a, Node b) {
+		Node parent = a;
+		Node child = b;
+		if(b.process.compareTo(a.process) > 0) {
+			parent = b;
+			child = a;
+		}
+		child.next = parent.child;
+		if(parent.child != null) {
+			parent.child.prev = child;
+		}
+		child.prev = parent;
+		parent.child = child;
+		return parent;
+	}
+
+	/**
+	 * Combines a list of siblings into one tree by the two-pass method:
+	 * link adjacent pairs from left to right, then link the resulting
+	 * trees from right to left. Both passes are iterative; the first
+	 * stacks its trees through their prev fields.
+	 * @param first First node of the list, or null
+	 * @return The root of the combined tree, or null
+	 */
+	private static Node combineSiblings(Node first) {
+		if(first == null) {
+			return null;
+		}
+		Node stack = null;
+		Node a = first;
+		while(a != null) {
+			Node b = a.next;
+			Node rest = (b == null) ? null : b.next;
+			a.next = null;
+			Node tree = a;
+			if(b != null) {
+				b.next = null;
+				tree = link(a, b);
+			}
+			tree.prev = stack;
+			stack = tree;
+			a = rest;
+		}
+		Node result = stack;
+		stack = stack.prev;
+		while(stack != null) {
+			Node below = stack.prev;
+			result = link(stack, result);
+			stack = below;
+		}
+		result.prev = null;
+		return result;
+	}
+}
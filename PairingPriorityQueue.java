@@ -0,0 +1,251 @@
+/**
+ * PairingPriorityQueue keeps its Processes in a PairingHeap and provides
+ * the same priority queue behavior as MyPriorityQueue, with lazy aging in
+ * the manner of LazyAgingPriorityQueue. Each call to update advances an
+ * epoch, every queued Process remembers the epoch at which its waiting
+ * time was last zero, and an AgingSchedule yields only the Processes due
+ * for promotion. Each promotion is an O(1) increaseKey on the Process's
+ * node, so an update costs O(1) plus O(1) per promotion, and the O(log n)
+ * amortized work is left to dequeue.
+ *
+ * Nodes are kept in a slot table and reused once their Process leaves, so
+ * in the steady state enqueue allocates nothing. A queued Process's waiting
+ * time is only written back to it when it is dequeued. The queue holds
+ * the heap rather than extending it, so every insertion and meld goes
+ * through the slot table.
+ *
+ * insert returns the node of a Process as a handle, through which
+ * increaseKey raises its priority without a search. A handle is valid
+ * until its Process is dequeued, after which its node is reused. meld
+ * takes over the heap of another PairingPriorityQueue with one O(1) link
+ * of the roots; its nodes, handles included, move into this queue's slot
+ * table, and its aging schedule is merged into this one's, in time linear
+ * in the slot tables and schedules but with no comparisons of Processes.
+ *
+ * @author Peyton Lundquist
+ * @date 10/17/2026
+ */
+public class PairingPriorityQueue implements PriorityQueueInterface {
+	private static final int ARRAYSIZE = 16;
+	private static final long FREE = Long.MIN_VALUE;
+
+	private final PairingHeap heap;
+	private SlotNode[] nodes;       // Node of each slot, kept for reuse
+	private long[] stamps;          // Epoch of each slot's last zero waiting time, FREE if unused
+	private int[] freeSlots;        // Stack of released slot ids
+	private int freeCount;
+	private int slotCount;
+	private long epoch;             // Number of calls to update so far
+	private int agingPeriod;        // Last timeToIncrementPriority seen by update
+	private AgingSchedule schedule;
+	private PromotionListener promotionListener;
+
+	/**
+	 * Constructor
+	 */
+	public PairingPriorityQueue() {
+		heap = new PairingHeap();
+		nodes = new SlotNode[ARRAYSIZE];
+		stamps = new long[ARRAYSIZE];
+		freeSlots = new int[ARRAYSIZE];
+		epoch = 0;
+		agingPeriod = 0;
+		schedule = new AgingSchedule();
+	}
+
+	@Override
+	public void enqueue(Process p) {
+		insert(p);
+	}
+
+	/**
+	 * Enqueues a Process and returns its handle.
+	 * @param p Process to enqueue
+	 * @return The handle of the Process, valid until it is dequeued
+	 */
+	public PairingHeap.Node insert(Process p) {
+		int slot = allocateSlot(p);
+		stamps[slot] = epoch - p.getWaitingTime();
+		schedule.add(slot, stamps[slot]);
+		heap.insert(nodes[slot]);
+		return nodes[slot];
+	}
+
+	/**
+	 * Increases the priority of a queued Process through its handle.
+	 * @param handle Handle returned by insert for the Process
+	 * @param key Priority to raise the Process to
+	 * @return false, leaving the Process unchanged, if key is lower than its
+	 * priority, true otherwise
+	 */
+	public boolean increaseKey(PairingHeap.Node handle, int key) {
+		if(!isQueued(handle)) {
+			throw new IllegalArgumentException("Illegal argument: handle of a Process not in the queue.");
+		}
+		return heap.increaseKey(handle, key);
+	}
+
+	@Override
+	public Process dequeue() {
+		if(heap.getHeapSize() < 1) {
+			return null;
+		}
+		SlotNode max = (SlotNode) heap.extractMaxNode();
+		Process p = max.getProcess();
+		long waited = epoch - stamps[max.slot];
+		if(agingPeriod > 0) {
+			waited %= agingPeriod;
+		}
+		p.setWaitingTime((int) waited);
+		releaseSlot(max.slot);
+		return p;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return heap.getHeapSize() == 0;
+	}
+
+	/**
+	 * Returns the number of queued Processes.
+	 * @return Number of Processes in the queue
+	 */
+	public int size() {
+		return heap.getHeapSize();
+	}
+
+	/**
+	 * Links the heap of another PairingPriorityQueue to this one in O(1),
+	 * moving its nodes into this queue's slot table with their stamps
+	 * carried over to this queue's epoch. Other queues are dequeued one
+	 * Process at a time.
+	 */
+	@Override
+	public void meld(PriorityQueueInterface other) {
+		if(!(other instanceof PairingPriorityQueue)) {
+			PriorityQueueInterface.super.meld(other);
+			return;
+		}
+		PairingPriorityQueue from = (PairingPriorityQueue) other;
+		if(from == this || from.isEmpty()) {
+			return;
+		}
+		long offset = epoch - from.epoch;
+		int[] slotMap = new int[from.slotCount];
+		for(int i = 0; i < from.slotCount; i++) {
+			slotMap[i] = -1;
+			if(from.stamps[i] != FREE) { // Swap the node with the empty one of a slot here
+				int slot = allocateSlot();
+				SlotNode node = from.nodes[i];
+				SlotNode empty = nodes[slot];
+				node.slot = slot;
+				nodes[slot] = node;
+				stamps[slot] = from.stamps[i] + offset;
+				empty.slot = i;
+				from.nodes[i] = empty;
+				from.releaseSlot(i);
+				slotMap[i] = slot;
+			}
+		}
+		schedule.meld(from.schedule, slotMap, offset);
+		heap.meld(from.heap);
+		if(agingPeriod == 0) {
+			agingPeriod = from.agingPeriod;
+		}
+	}
+
+	@Override
+	public void setPromotionListener(PromotionListener listener) {
+		promotionListener = listener;
+	}
+
+	@Override
+	public void update(Process next, int timeToIncrementPriority, int maxPriority) {
+		next.resetWaitingTime();
+		agingPeriod = timeToIncrementPriority;
+		epoch++;
+		while(!schedule.isEmpty() && schedule.peekStamp() + timeToIncrementPriority <= epoch) {
+			int slot = schedule.peekSlot();
+			long stamp = schedule.peekStamp();
+			schedule.poll();
+			if(stamps[slot] != stamp) { // Dequeued, or already handled this epoch
+				continue;
+			}
+			stamps[slot] = epoch;
+			SlotNode node = nodes[slot];
+			Process p = node.getProcess();
+			if(p.getPriority() < maxPriority) {
+				heap.increaseKey(node, p.getPriority() + 1);
+				if(promotionListener != null) {
+					promotionListener.promoted(p.getId(), p.getPriority());
+				}
+				schedule.add(slot, epoch);
+			}
+			// A Process at maxPriority is not rescheduled. Its waiting time keeps
+			// resetting every agingPeriod, which dequeue derives from its stamp.
+		}
+	}
+
+	/**
+	 * Whether a handle is the node of a Process queued here.
+	 */
+	private boolean isQueued(PairingHeap.Node handle) {
+		if(!(handle instanceof SlotNode)) {
+			return false;
+		}
+		int slot = ((SlotNode) handle).slot;
+		return slot < slotCount && nodes[slot] == handle && stamps[slot] != FREE;
+	}
+
+	/**
+	 * Assigns a slot and its node to a Process.
+	 * @param p Process to hold
+	 * @return The slot id
+	 */
+	private int allocateSlot(Process p) {
+		int slot = allocateSlot();
+		nodes[slot].setProcess(p);
+		return slot;
+	}
+
+	/**
+	 * Takes a free slot, growing the slot table if needed.
+	 * @return The slot id, with an empty node
+	 */
+	private int allocateSlot() {
+		if(freeCount > 0) {
+			return freeSlots[--freeCount];
+		}
+		if(slotCount == nodes.length) {
+			int length = nodes.length * 2;
+			SlotNode[] tempNodes = new SlotNode[length];
+			long[] tempStamps = new long[length];
+			int[] tempFree = new int[length];
+			System.arraycopy(nodes, 0, tempNodes, 0, slotCount);
+			System.arraycopy(stamps, 0, tempStamps, 0, slotCount);
+			nodes = tempNodes;
+			stamps = tempStamps;
+			freeSlots = tempFree;
+		}
+		nodes[slotCount] = new SlotNode(slotCount);
+		return slotCount++;
+	}
+
+	private void releaseSlot(int slot) {
+		nodes[slot].setProcess(null);
+		stamps[slot] = FREE;
+		freeSlots[freeCount++] = slot;
+	}
+
+	/**
+	 * A node that remembers its slot id.
+	 */
+	private static class SlotNode extends PairingHeap.Node {
+		private int slot;
+
+		SlotNode(int slot) {
+			super(null);
+			this.slot = slot;
+		}
+	}
+}
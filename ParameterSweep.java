@@ -0,0 +1,260 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs CPUScheduling over a grid of maxPriority, timeToIncrementPriority
+ * and arrival probability values, with several independent replications
+ * per grid point, in parallel on a ForkJoinPool within one JVM.
+ *
+ * The seed of every run is split from a single base seed in a fixed order
+ * before any run starts, so a sweep gives the same results whatever the
+ * number of threads. The simulations run with output disabled. For each
+ * grid point the sweep reports the mean of the replications' average turn
+ * around times with a 95% confidence interval from Student's t, and the
+ * pooled average, p99 and p99.9 over every finished process, merged from
+ * the runs' Averagers and LatencyHistograms.
+ *
+ * Options after the sweep's own are passed on to every CPUScheduling run,
+ * so a sweep can use any queue, policy, engine or random generator. Each
+ * run records --trace to its own file, the given path suffixed with the
+ * run's index and seed, as in trace.bin.run7.seed1234, so parallel runs never
+ * write the same file.
+ *
+ * Usage: java ParameterSweep <max-process-time> <simulation-time>
+ *        [--priorities 5,10,...] [--increments 5,10,...] [--probabilities 0.1,0.5,...]
+ *        [--replications n] [--seed s] [--threads n] [CPUScheduling options]
+ *
+ * @author Peyton Lundquist
+ * @date 10/17/2026
+ */
+public class ParameterSweep {
+	// Two-sided 95% critical values of Student's t, by degrees of freedom 1..30
+	private static final double[] T95 = {12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262,
+			2.228, 2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086, 2.080, 2.074, 2.069,
+			2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042};
+
+	private String maxProcessTime;
+	private String simulationTime;
+	private int[] priorities = {10};
+	private int[] increments = {10};
+	private double[] probabilities = {0.5};
+	private int replications = 10;
+	private long seed = 42;
+	private int threads = Runtime.getRuntime().availableProcessors();
+	private List<String> simulationOptions = new ArrayList<String>();
+	private String trace; // Base path of each run's trace, if any
+
+	public static void main(String[] args) {
+		ParameterSweep sweep = new ParameterSweep();
+		sweep.processArguments(args);
+		sweep.run();
+	}
+
+	/**
+	 * Reads the two positional arguments and the "--name value" options.
+	 * @param args command line args
+	 */
+	private void processArguments(String[] args) {
+		if(args.length < 2) {
+			System.out.println("Usage: java ParameterSweep <max-process-time> <simulation-time>"
+					+ "   [--priorities 5,10,...]   [--increments 5,10,...]   [--probabilities 0.1,0.5,...]"
+					+ "   [--replications n]   [--seed s]   [--threads n]   [CPUScheduling options]");
+			System.exit(1);
+		}
+		maxProcessTime = args[0];
+		simulationTime = args[1];
+		for(int i = 2; i < args.length; i++) {
+			if(i + 1 >= args.length) {
+				throw new IllegalArgumentException("Illegal argument: " + args[i] + " needs a value.");
+			}
+			String value = args[i + 1];
+			switch(args[i]) {
+			case "--priorities":
+				priorities = parseInts(value);
+				break;
+			case "--increments":
+				increments = parseInts(value);
+				break;
+			case "--probabilities":
+				String[] parts = value.split(",");
+				probabilities = new double[parts.length];
+				for(int j = 0; j < parts.length; j++) {
+					probabilities[j] = Double.parseDouble(parts[j].trim());
+				}
+				break;
+			case "--replications":
+				replications = Integer.parseInt(value);
+				if(replications < 1) {
+					throw new IllegalArgumentException("Illegal argument: replications must >= 1.");
+				}
+				break;
+			case "--seed":
+				seed = Long.parseLong(value);
+				break;
+			case "--threads":
+				threads = Integer.parseInt(value);
+				if(threads < 1) {
+					throw new IllegalArgumentException("Illegal argument: threads must >= 1.");
+				}
+				break;
+			case "--trace":
+				trace = value;
+				break;
+			default:
+				simulationOptions.add(args[i]);
+				simulationOptions.add(value);
+			}
+			i++;
+		}
+	}
+
+	private static int[] parseInts(String list) {
+		String[] parts = list.split(",");
+		int[] values = new int[parts.length];
+		for(int i = 0; i < parts.length; i++) {
+			values[i] = Integer.parseInt(parts[i].trim());
+		}
+		return values;
+	}
+
+	/**
+	 * Builds every run, runs them in parallel, and prints the results as CSV.
+	 */
+	private void run() {
+		List<String[]> runs = new ArrayList<String[]>();
+		SplittableRandom seeds = new SplittableRandom(seed);
+		for(int priority : priorities) {
+			for(int increment : increments) {
+				for(double probability : probabilities) {
+					for(int r = 0; r < replications; r++) {
+						List<String> args = new ArrayList<String>();
+						args.add(maxProcessTime);
+						args.add(Integer.toString(priority));
+						args.add(Integer.toString(increment));
+						args.add(simulationTime);
+						args.add(Double.toString(probability));
+						long runSeed = seeds.split().nextLong();
+						args.add(Long.toString(runSeed));
+						args.addAll(simulationOptions);
+						if(trace != null) {
+							args.add("--trace");
+							args.add(trace + ".run" + runs.size() + ".seed" + runSeed);
+						}
+						args.add("--output");
+						args.add("null");
+						runs.add(args.toArray(new String[args.size()]));
+					}
+				}
+			}
+		}
+		// Fail fast on bad options, before starting the pool
+		new CPUScheduling().processArguments(runs.get(0));
+
+		Averager[] results = new Averager[runs.size()];
+		LatencyHistogram[] histograms = new LatencyHistogram[runs.size()];
+		long start = System.nanoTime();
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try {
+			pool.invoke(new Runs(runs, results, histograms, 0, runs.size()));
+		} finally {
+			pool.shutdown();
+		}
+		long elapsed = System.nanoTime() - start;
+
+		System.out.println("maxPriority,timeToIncrementPriority,probability,replications,meanFinished,"
+				+ "meanTurnaround,ci95Low,ci95High,pooledTurnaround,pooledP99,pooledP999");
+		int run = 0;
+		for(int priority : priorities) {
+			for(int increment : increments) {
+				for(double probability : probabilities) {
+					Averager pooled = new Averager();
+					LatencyHistogram pooledHistogram = new LatencyHistogram();
+					double[] means = new double[replications];
+					double finished = 0;
+					for(int r = 0; r < replications; r++, run++) {
+						pooled.merge(results[run]);
+						pooledHistogram.merge(histograms[run]);
+						means[r] = results[run].getAverage();
+						finished += results[run].getCount();
+					}
+					double[] interval = confidenceInterval(means);
+					System.out.printf(Locale.ROOT, "%d,%d,%s,%d,%.1f,%.4f,%.4f,%.4f,%.4f,%d,%d%n", priority,
+							increment, Double.toString(probability), replications, finished / replications,
+							interval[0], interval[1], interval[2], pooled.getAverage(),
+							pooledHistogram.getValueAtPercentile(99), pooledHistogram.getValueAtPercentile(99.9));
+				}
+			}
+		}
+		System.err.printf(Locale.ROOT, "%d runs on %d threads in %.1f s%n", runs.size(), threads, elapsed / 1e9);
+	}
+
+	/**
+	 * Computes the mean of some values and its 95% confidence interval.
+	 * Values that are NaN, from runs that finished no process, are left out.
+	 * @param values Replication results
+	 * @return The mean, and the interval's low and high ends
+	 */
+	static double[] confidenceInterval(double[] values) {
+		int n = 0;
+		double mean = 0;
+		double m2 = 0;
+		for(double value : values) {
+			if(Double.isNaN(value)) {
+				continue;
+			}
+			n++;
+			double delta = value - mean;
+			mean += delta / n;
+			m2 += delta * (value - mean);
+		}
+		if(n == 0) {
+			return new double[] {Double.NaN, Double.NaN, Double.NaN};
+		}
+		if(n == 1) {
+			return new double[] {mean, Double.NaN, Double.NaN};
+		}
+		double t = n - 1 <= T95.length ? T95[n - 2] : 1.96;
+		double halfWidth = t * Math.sqrt(m2 / (n - 1) / n);
+		return new double[] {mean, mean - halfWidth, mean + halfWidth};
+	}
+
+	/**
+	 * Runs a range of the sweep's simulations, splitting it in halves
+	 * until each task holds a single run.
+	 */
+	private static class Runs extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final List<String[]> runs;
+		private final Averager[] results;
+		private final LatencyHistogram[] histograms;
+		private final int from;
+		private final int to;
+
+		Runs(List<String[]> runs, Averager[] results, LatencyHistogram[] histograms, int from, int to) {
+			this.runs = runs;
+			this.results = results;
+			this.histograms = histograms;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if(to - from > 1) {
+				int mid = (from + to) >>> 1;
+				invokeAll(new Runs(runs, results, histograms, from, mid), new Runs(runs, results, histograms, mid, to));
+				return;
+			}
+			CPUScheduling simulation = new CPUScheduling();
+			simulation.processArguments(runs.get(from));
+			simulation.runSimulation();
+			results[from] = simulation.getTurnaround();
+			histograms[from] = simulation.getTurnaroundHistogram();
+		}
+	}
+}
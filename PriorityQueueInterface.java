@@ -1,3 +1,6 @@
+import java.util.Collection;
+import java.util.function.Consumer;
+
 /**
  * A priority queue interface
  */
@@ -28,5 +31,78 @@ public interface PriorityQueueInterface
      * @param maxPriority The maximum priority level for any given Process
      */
     public void update(Process next, int timeToIncrementPriority, int maxPriority); 
+
+    /**
+     * Adding a batch of Processes to the queue
+     * @param processes Processes to enqueue
+     */
+    public default void enqueueAll(Collection<Process> processes) {
+        for (Process p : processes) {
+            enqueue(p);
+        }
+    }
+
+    /**
+     * Removing up to k Processes from the front of the queue, highest priority first
+     * @param k Maximum number of Processes to dequeue
+     * @param sink Receives each dequeued Process in order
+     * @return Number of Processes dequeued
+     */
+    public default int dequeueBatch(int k, Consumer<Process> sink) {
+        int n = 0;
+        while (n < k && !isEmpty()) {
+            sink.accept(dequeue());
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * Moves every Process of another queue into this one, leaving the other
+     * queue empty, as when the run queue of a CPU is drained into another's.
+     * The default dequeues the other queue one Process at a time; queues that
+     * can merge their structures directly override it.
+     * @param other Queue to meld in
+     */
+    public default void meld(PriorityQueueInterface other) {
+        while (other != this && !other.isEmpty()) {
+            enqueue(other.dequeue());
+        }
+    }
+
+    /**
+     * Runs a Process that is alone in the scheduler, dequeued with nothing
+     * else queued, for the given number of time units, none of which it
+     * finishes in. Each time unit is what the simulation does for a
+     * dispatched Process that does not finish: decrement its time
+     * remaining, update, reset its waiting time, enqueue and dequeue it.
+     * The default does exactly that, so queues whose state advances every
+     * time unit, such as a feedback queue's periodic boost or a stride
+     * queue's pass, stay exact. Queues whose aging has nothing to do with
+     * no other Process queued override it to jump to the end at once.
+     * @param p The dequeued Process, with more than units time remaining
+     * @param units Number of time units to run it
+     * @param timeToIncrementPriority The time to increment the priority of a Process
+     * @param maxPriority The maximum priority level for any given Process
+     * @return The Process dequeued after the last time unit
+     */
+    public default Process runAlone(Process p, int units, int timeToIncrementPriority, int maxPriority) {
+        for (int i = 0; i < units; i++) {
+            p.decrementTimeRemaining();
+            update(p, timeToIncrementPriority, maxPriority);
+            p.resetWaitingTime();
+            enqueue(p);
+            p = dequeue();
+        }
+        return p;
+    }
+
+    /**
+     * Sets a listener told of every priority promotion made by update.
+     * Queues that do not age their Processes ignore it.
+     * @param listener Listener to notify, or null for none
+     */
+    public default void setPromotionListener(PromotionListener listener) {
+    }
 	
 }
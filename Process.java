@@ -1,3 +1,5 @@
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * This class defines a Process for the CPUScheduling driver
  * 
@@ -5,10 +7,15 @@
  * @date 10/13/2021
  */
 public class Process implements ProcessInterface, Comparable<Process>{
+	private static final AtomicInteger nextId = new AtomicInteger();
+	
+	private int id;
 	private int priority;
 	private int timeRemaining;
 	private int arrivalTime;
 	private int waitingTime; 
+	private int serviceTime;
+	private long virtualTime;
 	
 	/**
 	 * Process constructor
@@ -17,9 +24,73 @@ public class Process implements ProcessInterface, Comparable<Process>{
 	 * @param priority The priority level for the Process
 	 */
 	public Process(int currentTime, int processTime, int priority){
+		this(nextId.getAndIncrement(), currentTime, processTime, priority);
+	}
+	
+	/**
+	 * Process constructor for a Process with a known id, such as one
+	 * restored from a serialized record
+	 * @param id The id of the Process
+	 * @param currentTime The time at which the Process was created
+	 * @param processTime The time it takes to complete the Process
+	 * @param priority The priority level for the Process
+	 */
+	public Process(int id, int currentTime, int processTime, int priority){
+		this.id = id;
 		arrivalTime = currentTime;
 		this.priority = priority;
 		timeRemaining = processTime;
+		serviceTime = processTime;
+	}
+	
+	/**
+	 * Process constructor for a Process restored from a serialized record
+	 * part way through its service
+	 * @param id The id of the Process
+	 * @param currentTime The time at which the Process was created
+	 * @param processTime The time it takes to complete the Process
+	 * @param timeRemaining The time it still needs to complete
+	 * @param priority The priority level for the Process
+	 */
+	public Process(int id, int currentTime, int processTime, int timeRemaining, int priority){
+		this(id, currentTime, processTime, priority);
+		this.timeRemaining = timeRemaining;
+	}
+	
+	/**
+	 * Reinitializes a finished Process as a new arrival, with a new id, so
+	 * a ProcessPool can hand it out again instead of allocating one.
+	 * @param currentTime The time at which the Process arrives
+	 * @param processTime The time it takes to complete the Process
+	 * @param priority The priority level for the Process
+	 */
+	public void reset(int currentTime, int processTime, int priority) {
+		restore(nextId.getAndIncrement(), currentTime, processTime, processTime, priority);
+	}
+	
+	/**
+	 * Reinitializes a finished Process as one restored from a serialized
+	 * record, so a queue that keeps records can hand back a pooled Process
+	 * instead of allocating one.
+	 * @param id The id of the Process
+	 * @param currentTime The time at which the Process was created
+	 * @param processTime The time it takes to complete the Process
+	 * @param timeRemaining The time it still needs to complete
+	 * @param priority The priority level for the Process
+	 */
+	public void restore(int id, int currentTime, int processTime, int timeRemaining, int priority) {
+		this.id = id;
+		arrivalTime = currentTime;
+		this.priority = priority;
+		this.timeRemaining = timeRemaining;
+		serviceTime = processTime;
+		waitingTime = 0;
+		virtualTime = 0;
+	}
+	
+	@Override
+	public int getId() {
+		return id;
 	}
 	
 	@Override
@@ -42,6 +113,11 @@ public class Process implements ProcessInterface, Comparable<Process>{
 		timeRemaining--;
 	}
 
+	@Override
+	public void decrementTimeRemaining(int time) {
+		timeRemaining -= time;
+	}
+
 	@Override
 	public boolean finished() {
 		if(timeRemaining <= 0) {
@@ -70,6 +146,26 @@ public class Process implements ProcessInterface, Comparable<Process>{
 		waitingTime = 0;
 	}
 	
+	@Override
+	public void setWaitingTime(int waitingTime) {
+		this.waitingTime = waitingTime;
+	}
+	
+	@Override
+	public int getServiceTime() {
+		return serviceTime;
+	}
+	
+	@Override
+	public long getVirtualTime() {
+		return virtualTime;
+	}
+	
+	@Override
+	public void setVirtualTime(long virtualTime) {
+		this.virtualTime = virtualTime;
+	}
+	
 	@Override
 	public int compareTo(Process o) {
 		if(this.getPriority() < o.getPriority()) {
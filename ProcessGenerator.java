@@ -1,13 +1,49 @@
 import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
 
 /**
  * A Process generator which implements the ProcessGenerator Interface
+ *
+ * The random numbers come from a pluggable RandomGenerator. The default,
+ * java.util.Random, keeps the seeded outputs of earlier versions. The
+ * others are faster and can be split into independent streams for
+ * parallel runs:
+ *   random       java.util.Random
+ *   splittable   java.util.SplittableRandom
+ *   l64x128      L64X128MixRandom
+ *   xoroshiro    Xoroshiro128PlusPlus
+ *
+ * In batch mode the generator draws arrivals, priorities and process
+ * times a batch at a time into arrays, and hands them out from there. A
+ * batched run is as reproducible from its seed as an unbatched one, but
+ * draws its numbers in a different order, so its workload differs.
+ *
+ * Given a ProcessPool, the generator takes its Processes from the pool
+ * rather than allocating them. The random numbers are drawn the same way,
+ * so a pooled run has the same workload as an unpooled one.
+ *
  * @author Peyton Lundquist
  * @date 10/13/2021
  */
 public class ProcessGenerator implements ProcessGeneratorInterface{
+	public static final String[] ALGORITHMS = {"random", "splittable", "l64x128", "xoroshiro"};
+
 	private double probability;
-	Random rand;
+	RandomGenerator rand;
+
+	private int batchSize;         // 0 when not batching
+	private boolean[] arrivals;    // Batched query results
+	private int[] gaps;            // Batched nextArrivalGap results
+	private int[] priorities;      // Batched priorities
+	private int[] processTimes;    // Batched process times
+	private int arrivalPos;
+	private int gapPos;
+	private int processPos;
+	private int batchMaxPriority;  // Bounds the process batch was drawn with
+	private int batchMaxProcessTime;
+	private ProcessPool pool;      // null when allocating every Process
 
 	/**
 	 * Constuctor for seeded ProcessGenerator
@@ -28,20 +64,199 @@ public class ProcessGenerator implements ProcessGeneratorInterface{
 		rand = new Random();
 	}
 
+	/**
+	 * Constructor for a ProcessGenerator drawing from a named algorithm
+	 * @param probability
+	 * @param seed
+	 * @param algorithm One of ALGORITHMS
+	 */
+	public ProcessGenerator(double probability, long seed, String algorithm) {
+		this(probability, createRandom(algorithm, seed, true));
+	}
+
+	/**
+	 * Constructor for a seedless ProcessGenerator drawing from a named algorithm
+	 * @param probability
+	 * @param algorithm One of ALGORITHMS
+	 */
+	public ProcessGenerator(double probability, String algorithm) {
+		this(probability, createRandom(algorithm, 0L, false));
+	}
+
+	/**
+	 * Constructor for a ProcessGenerator drawing from a given RandomGenerator
+	 * @param probability
+	 * @param rand Source of random numbers
+	 */
+	public ProcessGenerator(double probability, RandomGenerator rand) {
+		this.probability = probability;
+		this.rand = rand;
+	}
+
+	/**
+	 * Creates a RandomGenerator by the names in ALGORITHMS.
+	 */
+	private static RandomGenerator createRandom(String algorithm, long seed, boolean seeded) {
+		switch(algorithm) {
+		case "random":
+			return seeded ? new Random(seed) : new Random();
+		case "splittable":
+			return seeded ? new SplittableRandom(seed) : new SplittableRandom();
+		case "l64x128":
+			return seeded ? RandomGeneratorFactory.of("L64X128MixRandom").create(seed)
+					: RandomGeneratorFactory.of("L64X128MixRandom").create();
+		case "xoroshiro":
+			return seeded ? RandomGeneratorFactory.of("Xoroshiro128PlusPlus").create(seed)
+					: RandomGeneratorFactory.of("Xoroshiro128PlusPlus").create();
+		default:
+			throw new IllegalArgumentException("Illegal argument: unknown random generator " + algorithm + ".");
+		}
+	}
+
+	/**
+	 * Turns on batch mode.
+	 * @param batchSize Number of values drawn at a time, 0 to turn batching off
+	 */
+	public void setBatchSize(int batchSize) {
+		if(batchSize < 0) {
+			throw new IllegalArgumentException("batchSize must be >= 0.");
+		}
+		this.batchSize = batchSize;
+		arrivals = null;
+		gaps = null;
+		priorities = null;
+		processTimes = null;
+	}
+
+	/**
+	 * Sets the pool new Processes are taken from.
+	 * @param pool A ProcessPool, or null to allocate every Process
+	 */
+	public void setPool(ProcessPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Returns a new generator with the same arrival probability and batch
+	 * size, drawing from a stream independent of this one. Splittable
+	 * algorithms split, xoroshiro jumps ahead, and java.util.Random, which
+	 * can do neither, seeds the new stream from this one.
+	 * @return A new ProcessGenerator
+	 */
+	public ProcessGenerator split() {
+		RandomGenerator child;
+		if(rand instanceof RandomGenerator.SplittableGenerator) {
+			child = ((RandomGenerator.SplittableGenerator) rand).split();
+		}else if(rand instanceof RandomGenerator.JumpableGenerator) {
+			child = ((RandomGenerator.JumpableGenerator) rand).copyAndJump();
+		}else {
+			child = new Random(rand.nextLong());
+		}
+		ProcessGenerator generator = new ProcessGenerator(probability, child);
+		generator.setBatchSize(batchSize);
+		return generator;
+	}
+
 	@Override
 	public Process getNewProcess(int currentTime, int maxProcessTime, int maxPriority) {
+		if(batchSize > 0) {
+			if(priorities == null || processPos == batchSize || maxPriority != batchMaxPriority
+					|| maxProcessTime != batchMaxProcessTime) {
+				fillProcesses(maxProcessTime, maxPriority);
+			}
+			Process newProcess = newProcess(currentTime, processTimes[processPos], priorities[processPos]);
+			processPos++;
+			return newProcess;
+		}
 		int priority = rand.nextInt(maxPriority) + 1; // From 1 to Max
 		int processTime = rand.nextInt(maxProcessTime) + 1; // From 1 to Max
-		Process newProcess = new Process(currentTime, processTime, priority);
+		Process newProcess = newProcess(currentTime, processTime, priority);
 		return newProcess;
 	}
 
+	private Process newProcess(int currentTime, int processTime, int priority) {
+		if(pool != null) {
+			return pool.acquire(currentTime, processTime, priority);
+		}
+		return new Process(currentTime, processTime, priority);
+	}
+
 	@Override
 	public boolean query() {
+		if(batchSize > 0) {
+			if(arrivals == null || arrivalPos == batchSize) {
+				fillArrivals();
+			}
+			return arrivals[arrivalPos++];
+		}
 		if(rand.nextDouble() < probability) {
 			return true;
 		}
 		return false;
 	}
 
+	/**
+	 * Samples the gap directly from the geometric distribution of the
+	 * number of failed queries before a success, with one random number.
+	 * If no process can arrive, returns Integer.MAX_VALUE.
+	 */
+	@Override
+	public int nextArrivalGap() {
+		if(probability >= 1) {
+			return 0;
+		}
+		if(probability <= 0) {
+			return Integer.MAX_VALUE;
+		}
+		if(batchSize > 0) {
+			if(gaps == null || gapPos == batchSize) {
+				fillGaps();
+			}
+			return gaps[gapPos++];
+		}
+		return sampleGap(Math.log1p(-probability));
+	}
+
+	private int sampleGap(double logFail) {
+		double gap = Math.floor(Math.log1p(-rand.nextDouble()) / logFail);
+		return (int) Math.min(gap, Integer.MAX_VALUE);
+	}
+
+	private void fillArrivals() {
+		if(arrivals == null) {
+			arrivals = new boolean[batchSize];
+		}
+		for(int i = 0; i < batchSize; i++) {
+			arrivals[i] = rand.nextDouble() < probability;
+		}
+		arrivalPos = 0;
+	}
+
+	private void fillGaps() {
+		if(gaps == null) {
+			gaps = new int[batchSize];
+		}
+		double logFail = Math.log1p(-probability);
+		for(int i = 0; i < batchSize; i++) {
+			gaps[i] = sampleGap(logFail);
+		}
+		gapPos = 0;
+	}
+
+	private void fillProcesses(int maxProcessTime, int maxPriority) {
+		if(priorities == null) {
+			priorities = new int[batchSize];
+			processTimes = new int[batchSize];
+		}
+		for(int i = 0; i < batchSize; i++) {
+			priorities[i] = rand.nextInt(maxPriority) + 1;
+		}
+		for(int i = 0; i < batchSize; i++) {
+			processTimes[i] = rand.nextInt(maxProcessTime) + 1;
+		}
+		batchMaxPriority = maxPriority;
+		batchMaxProcessTime = maxProcessTime;
+		processPos = 0;
+	}
+
 }
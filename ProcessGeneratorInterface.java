@@ -15,4 +15,18 @@ public interface ProcessGeneratorInterface {
 	 */
 	public boolean query(); 
 
+	/**
+	 * Sample the number of time units without an arrival before the next
+	 * one, as a run of query calls would see it. The default asks query
+	 * until it succeeds, so it never returns if no process can arrive.
+	 * @return Number of time units before the next arrival
+	 */
+	public default int nextArrivalGap() {
+		int gap = 0;
+		while(!query()) {
+			gap++;
+		}
+		return gap;
+	}
+
 }
@@ -0,0 +1,147 @@
+/**
+ * ProcessIndexMap maps Process ids to heap indexes without boxing. It is
+ * an open-addressing hash table with linear probing, and removal shifts
+ * the following entries back so no tombstones are left behind.
+ *
+ * @author Peyton Lundquist
+ * @date 10/17/2026
+ */
+public class ProcessIndexMap {
+	public static final int ABSENT = -1;
+	private static final int ARRAYSIZE = 16;
+
+	private int[] keys;
+	private int[] values;
+	private boolean[] used;
+	private int size;
+
+	/**
+	 * Constructor
+	 */
+	public ProcessIndexMap() {
+		keys = new int[ARRAYSIZE];
+		values = new int[ARRAYSIZE];
+		used = new boolean[ARRAYSIZE];
+		size = 0;
+	}
+
+	/**
+	 * Returns the index stored for an id.
+	 * @param id Process id
+	 * @return The stored index, or ABSENT if the id is not in the map
+	 */
+	public int get(int id) {
+		int mask = keys.length - 1;
+		for(int i = hash(id) & mask; used[i]; i = (i + 1) & mask) {
+			if(keys[i] == id) {
+				return values[i];
+			}
+		}
+		return ABSENT;
+	}
+
+	/**
+	 * Stores the index for an id, replacing any previous index.
+	 * @param id Process id
+	 * @param index Index to store
+	 */
+	public void put(int id, int index) {
+		int mask = keys.length - 1;
+		int i = hash(id) & mask;
+		while(used[i]) {
+			if(keys[i] == id) {
+				values[i] = index;
+				return;
+			}
+			i = (i + 1) & mask;
+		}
+		used[i] = true;
+		keys[i] = id;
+		values[i] = index;
+		size++;
+		if(size * 2 > keys.length) { // Keep the load factor at most 1/2
+			rehash(keys.length * 2);
+		}
+	}
+
+	/**
+	 * Removes an id from the map.
+	 * @param id Process id
+	 * @return The index that was stored, or ABSENT if the id was not in the map
+	 */
+	public int remove(int id) {
+		int mask = keys.length - 1;
+		int i = hash(id) & mask;
+		while(used[i] && keys[i] != id) {
+			i = (i + 1) & mask;
+		}
+		if(!used[i]) {
+			return ABSENT;
+		}
+		int removed = values[i];
+		size--;
+		// Shift back later entries of the probe run that would no longer be reachable
+		int hole = i;
+		for(int j = (i + 1) & mask; used[j]; j = (j + 1) & mask) {
+			int home = hash(keys[j]) & mask;
+			if(((j - home) & mask) >= ((j - hole) & mask)) {
+				keys[hole] = keys[j];
+				values[hole] = values[j];
+				hole = j;
+			}
+		}
+		used[hole] = false;
+		return removed;
+	}
+
+	/**
+	 * Returns the number of ids in the map.
+	 * @return Number of entries
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Removes every entry.
+	 */
+	public void clear() {
+		java.util.Arrays.fill(used, false);
+		size = 0;
+	}
+
+	/**
+	 * Spreads sequential ids across the table.
+	 * @param id Process id
+	 * @return Hash of the id
+	 */
+	private static int hash(int id) {
+		int h = id * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * Moves every entry into tables of a new size.
+	 * @param newSize New table length, a power of two
+	 */
+	private void rehash(int newSize) {
+		int[] oldKeys = keys;
+		int[] oldValues = values;
+		boolean[] oldUsed = used;
+		keys = new int[newSize];
+		values = new int[newSize];
+		used = new boolean[newSize];
+		int mask = newSize - 1;
+		for(int j = 0; j < oldKeys.length; j++) {
+			if(oldUsed[j]) {
+				int i = hash(oldKeys[j]) & mask;
+				while(used[i]) {
+					i = (i + 1) & mask;
+				}
+				used[i] = true;
+				keys[i] = oldKeys[j];
+				values[i] = oldValues[j];
+			}
+		}
+	}
+}
@@ -3,6 +3,12 @@
  */
 public interface ProcessInterface 
 {
+	/**
+	 * Getter for id, which is unique to each Process
+	 * @return id
+	 */
+	public int getId();
+	
 	/**
 	 * Getter for priority
 	 * @return priority
@@ -26,6 +32,12 @@ public interface ProcessInterface
 	 */
 	public void decrementTimeRemaining(); 
 	
+	/**
+	 * Decreases timeRemaining by the given time
+	 * @param time Time the Process ran
+	 */
+	public void decrementTimeRemaining(int time);
+	
 	/**
 	 * Boolean for whther a Process is finished or not
 	 * @return Boolean
@@ -53,4 +65,29 @@ public interface ProcessInterface
 	 * Resets waitingTime
 	 */
 	public void resetWaitingTime(); 
+	
+	/**
+	 * Setter for waitingTime
+	 * @param waitingTime Waiting time to set
+	 */
+	public void setWaitingTime(int waitingTime);
+	
+	/**
+	 * Getter for serviceTime, the total time the Process requires
+	 * @return serviceTime
+	 */
+	public int getServiceTime();
+	
+	/**
+	 * Getter for virtualTime, the run time a scheduling policy has charged
+	 * the Process, in the policy's own units
+	 * @return virtualTime
+	 */
+	public long getVirtualTime();
+	
+	/**
+	 * Setter for virtualTime
+	 * @param virtualTime Virtual time to set
+	 */
+	public void setVirtualTime(long virtualTime);
 }
@@ -0,0 +1,94 @@
+/**
+ * A pool of finished Processes for reuse. The simulation releases each
+ * Process that finishes, and the ProcessGenerator acquires its new arrivals
+ * from here, reinitialized with Process.reset. Once the pool holds as many
+ * Processes as the run ever has in flight, arrivals allocate nothing.
+ *
+ * The pool is a stack, so the most recently finished Process, the one most
+ * likely still in cache, is the next one reused.
+ *
+ * @author Peyton Lundquist
+ * @date 10/17/2026
+ */
+public class ProcessPool {
+	private static final int ARRAYSIZE = 16;
+
+	private Process[] free;
+	private int size;
+	private long allocated; // Processes created because the pool was empty
+
+	/**
+	 * Constructor
+	 */
+	public ProcessPool() {
+		free = new Process[ARRAYSIZE];
+		size = 0;
+	}
+
+	/**
+	 * Returns a Process for a new arrival, reusing a released one if there is any.
+	 * @param currentTime The time at which the Process arrives
+	 * @param processTime The time it takes to complete the Process
+	 * @param priority The priority level for the Process
+	 * @return A Process, as if newly constructed
+	 */
+	public Process acquire(int currentTime, int processTime, int priority) {
+		if(size == 0) {
+			allocated++;
+			return new Process(currentTime, processTime, priority);
+		}
+		Process p = free[--size];
+		free[size] = null;
+		p.reset(currentTime, processTime, priority);
+		return p;
+	}
+
+	/**
+	 * Returns a Process restored from a serialized record, reusing a
+	 * released one if there is any.
+	 * @param id The id of the Process
+	 * @param currentTime The time at which the Process was created
+	 * @param processTime The time it takes to complete the Process
+	 * @param timeRemaining The time it still needs to complete
+	 * @param priority The priority level for the Process
+	 * @return A Process, as if newly constructed from the record
+	 */
+	public Process acquire(int id, int currentTime, int processTime, int timeRemaining, int priority) {
+		if(size == 0) {
+			allocated++;
+			return new Process(id, currentTime, processTime, timeRemaining, priority);
+		}
+		Process p = free[--size];
+		free[size] = null;
+		p.restore(id, currentTime, processTime, timeRemaining, priority);
+		return p;
+	}
+
+	/**
+	 * Returns a finished Process to the pool. The caller must hold no other
+	 * reference to it that is still in use.
+	 * @param p Process to release
+	 */
+	public void release(Process p) {
+		if(size == free.length) {
+			Process[] temp = new Process[free.length * 2];
+			System.arraycopy(free, 0, temp, 0, size);
+			free = temp;
+		}
+		free[size++] = p;
+	}
+
+	/**
+	 * @return Number of Processes waiting in the pool
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return Number of Processes the pool had to create
+	 */
+	public long getAllocated() {
+		return allocated;
+	}
+}
@@ -0,0 +1,16 @@
+/**
+ * Receives the priority promotions made by a priority queue's aging, as
+ * they happen during update.
+ *
+ * @author Peyton Lundquist
+ * @date 10/17/2026
+ */
+@FunctionalInterface
+public interface PromotionListener {
+	/**
+	 * A queued Process was promoted one priority level.
+	 * @param id Id of the Process
+	 * @param priority Its new priority
+	 */
+	public void promoted(int id, int priority);
+}
@@ -0,0 +1,43 @@
+import java.io.OutputStream;
+
+/**
+ * Writes only the summary of a CPUScheduling run, in the text format of
+ * TextSink, and skips the per-time-unit log.
+ *
+ * @author Peyton Lundquist
+ * @date 10/17/2026
+ */
+public class QuietSink extends TextSink {
+	/**
+	 * Constructor
+	 * @param out Stream the summary is written to
+	 */
+	public QuietSink(OutputStream out) {
+		super(out);
+	}
+
+	@Override
+	public void tickStart(int time) {
+	}
+
+	@Override
+	public void arrival(int time, Process p) {
+	}
+
+	@Override
+	public void dispatch(int time, int cpu, Process p) {
+	}
+
+	@Override
+	public void tickEnd(int time) {
+	}
+
+	@Override
+	public void idle(int from, int to) {
+	}
+
+	@Override
+	public boolean needsEveryTick() {
+		return false;
+	}
+}
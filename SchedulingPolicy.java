@@ -0,0 +1,89 @@
+/**
+ * The scheduling policies CPUScheduling can simulate. Each policy is a
+ * PriorityQueueInterface whose dequeue picks the Process to run next, so
+ * every policy runs in the same simulation loop on the same workload.
+ *
+ * @author Peyton Lundquist
+ * @date 10/17/2026
+ */
+public enum SchedulingPolicy {
+	/** Highest priority first, with aging. The queue is chosen by --queue. */
+	PRIORITY("priority") {
+		@Override
+		public PriorityQueueInterface newQueue(String queueType, int arity, int maxPriority) {
+			return CPUScheduling.newQueue(queueType, arity, maxPriority);
+		}
+	},
+	/** Shortest remaining time first. */
+	SRT("srt") {
+		@Override
+		public PriorityQueueInterface newQueue(String queueType, int arity, int maxPriority) {
+			return new ShortestRemainingTimeQueue();
+		}
+	},
+	/** Earliest deadline first. */
+	EDF("edf") {
+		@Override
+		public PriorityQueueInterface newQueue(String queueType, int arity, int maxPriority) {
+			return new EarliestDeadlineQueue();
+		}
+	},
+	/** Multilevel feedback queue. */
+	MLFQ("mlfq") {
+		@Override
+		public PriorityQueueInterface newQueue(String queueType, int arity, int maxPriority) {
+			return new MultilevelFeedbackQueue();
+		}
+	},
+	/** Stride scheduling, with priorities as tickets. */
+	STRIDE("stride") {
+		@Override
+		public PriorityQueueInterface newQueue(String queueType, int arity, int maxPriority) {
+			return new StrideQueue();
+		}
+	},
+	/** Virtual runtime, as in the Completely Fair Scheduler. */
+	CFS("cfs") {
+		@Override
+		public PriorityQueueInterface newQueue(String queueType, int arity, int maxPriority) {
+			return new VirtualRuntimeQueue();
+		}
+	};
+
+	private final String name;
+
+	SchedulingPolicy(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * Creates an empty run queue for this policy.
+	 * @param queueType Queue type of the priority policy, as for --queue
+	 * @param arity Arity of the heap queue
+	 * @param maxPriority Highest priority a Process can reach
+	 * @return A new, empty run queue
+	 */
+	public abstract PriorityQueueInterface newQueue(String queueType, int arity, int maxPriority);
+
+	/**
+	 * @return The name used for the policy on the command line
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Looks up a policy by its command line name.
+	 * @param name Policy name
+	 * @return The policy
+	 * @throws IllegalArgumentException If no policy has that name
+	 */
+	public static SchedulingPolicy forName(String name) {
+		for(SchedulingPolicy policy : values()) {
+			if(policy.name.equals(name)) {
+				return policy;
+			}
+		}
+		throw new IllegalArgumentException("Illegal argument: unknown policy " + name + ".");
+	}
+}
@@ -0,0 +1,14 @@
+/**
+ * ShortestRemainingTimeQueue schedules by shortest remaining time first:
+ * each time unit the Process closest to finishing runs, so a short new
+ * arrival preempts a long running job. Priorities are ignored.
+ *
+ * @author Peyton Lundquist
+ * @date 10/17/2026
+ */
+public class ShortestRemainingTimeQueue extends KeyedPriorityQueue {
+	@Override
+	protected long key(Process p) {
+		return p.getTimeRemaining();
+	}
+}
@@ -0,0 +1,101 @@
+/**
+ * Receives the events of a CPUScheduling run. The simulation reports each
+ * time unit as a tickStart, an optional arrival, a dispatch per CPU that
+ * ran a Process, and a tickEnd, followed by the summary at the end of the
+ * run. What, if anything, is written is up to the implementation.
+ *
+ * Events are reported as they happen, so a sink that keeps a Process must
+ * copy what it needs: the Process is changed again by later time units.
+ *
+ * @author Peyton Lundquist
+ * @date 10/17/2026
+ */
+public interface SimulationSink {
+	/**
+	 * Called once before the first time unit.
+	 * @param cores Number of simulated CPUs
+	 */
+	public void start(int cores);
+
+	/**
+	 * A new time unit begins.
+	 * @param time Current time
+	 */
+	public void tickStart(int time);
+
+	/**
+	 * A new Process arrived and was queued.
+	 * @param time Current time
+	 * @param p The new Process
+	 */
+	public void arrival(int time, Process p);
+
+	/**
+	 * A CPU ran a Process for this time unit. The Process's time remaining
+	 * has already been decremented, so finished() tells if it completed.
+	 * @param time Current time
+	 * @param cpu The CPU that ran it, from 0
+	 * @param p The Process that ran
+	 */
+	public void dispatch(int time, int cpu, Process p);
+
+	/**
+	 * The current time unit ends.
+	 * @param time Current time
+	 */
+	public void tickEnd(int time);
+
+	/**
+	 * Time units from up to, but not including, to passed with no event at
+	 * all, and were skipped by the event engine. The default reports each
+	 * as an empty time unit.
+	 * @param from First idle time unit
+	 * @param to Time unit after the last idle one
+	 */
+	public default void idle(int from, int to) {
+		for(int time = from; time < to; time++) {
+			tickStart(time);
+			tickEnd(time);
+		}
+	}
+
+	/**
+	 * Whether every time unit in which a Process runs must be reported. A
+	 * sink that answers false lets the event engine run a Process that is
+	 * alone in the scheduler up to its next event in one step, reporting
+	 * only the last time unit, which tickStart opens at the time of the
+	 * first. The default answers true.
+	 * @return true to be told of every time unit
+	 */
+	public default boolean needsEveryTick() {
+		return true;
+	}
+
+	/**
+	 * The run is over.
+	 * @param simulationTime Length of the run
+	 * @param turnaround Turn around times of the finished Processes
+	 */
+	public void summary(int simulationTime, Averager turnaround);
+
+	/**
+	 * Per-CPU results of a run with more than one CPU, after summary.
+	 * @param perCoreQueues Whether each CPU had its own run queue
+	 * @param utilization Per-CPU share of time units spent running a Process
+	 * @param turnaround Per-CPU turn around times of the Processes finished
+	 */
+	public void coreSummary(boolean perCoreQueues, Averager[] utilization, Averager[] turnaround);
+
+	/**
+	 * Detailed turn around statistics of the run, after the summaries.
+	 * Only reported when the run was asked for them with --stats.
+	 * @param turnaround Turn around times of the finished Processes
+	 * @param histogram Histogram of the same turn around times
+	 */
+	public void statistics(Averager turnaround, LatencyHistogram histogram);
+
+	/**
+	 * Writes out anything still buffered. Called once at the end of the run.
+	 */
+	public void close();
+}
@@ -0,0 +1,34 @@
+/**
+ * StrideQueue schedules by stride scheduling, the deterministic form of
+ * lottery scheduling. Each Process holds tickets equal to its priority and
+ * has a stride of STRIDE1 / tickets. The Process with the smallest pass
+ * runs, and running one time unit advances its pass by its stride, so over
+ * time each Process gets CPU time in proportion to its priority.
+ *
+ * The pass is kept in the Process's virtual time. An arriving Process
+ * starts at the pass of the last Process dequeued, so it does not get a
+ * burst of CPU time to catch up with the Processes that were already
+ * queued.
+ *
+ * @author Peyton Lundquist
+ * @date 10/17/2026
+ */
+public class StrideQueue extends KeyedPriorityQueue {
+	public static final long STRIDE1 = 1L << 20;
+
+	private long globalPass;
+
+	@Override
+	protected long key(Process p) {
+		if(p.getVirtualTime() < globalPass) {
+			p.setVirtualTime(globalPass);
+		}
+		return p.getVirtualTime();
+	}
+
+	@Override
+	protected void charge(Process p, long pass) {
+		globalPass = pass;
+		p.setVirtualTime(pass + STRIDE1 / Math.max(1, p.getPriority()));
+	}
+}
@@ -0,0 +1,48 @@
+/**
+ * SynchronizedPriorityQueue wraps any PriorityQueueInterface so that every
+ * operation holds the wrapper's monitor, making a single-threaded queue
+ * such as MyPriorityQueue safe to share between threads.
+ *
+ * @author Peyton Lundquist
+ * @date 10/17/2026
+ */
+public class SynchronizedPriorityQueue implements PriorityQueueInterface {
+	private final PriorityQueueInterface queue;
+
+	/**
+	 * Constructor
+	 * @param queue Queue to guard
+	 */
+	public SynchronizedPriorityQueue(PriorityQueueInterface queue) {
+		this.queue = queue;
+	}
+
+	@Override
+	public synchronized void enqueue(Process p) {
+		queue.enqueue(p);
+	}
+
+	/**
+	 * Returns null if the queue is empty, rather than letting the guarded
+	 * queue report the underflow.
+	 */
+	@Override
+	public synchronized Process dequeue() {
+		return queue.isEmpty() ? null : queue.dequeue();
+	}
+
+	@Override
+	public synchronized boolean isEmpty() {
+		return queue.isEmpty();
+	}
+
+	@Override
+	public synchronized void update(Process next, int timeToIncrementPriority, int maxPriority) {
+		queue.update(next, timeToIncrementPriority, maxPriority);
+	}
+
+	@Override
+	public synchronized void setPromotionListener(PromotionListener listener) {
+		queue.setPromotionListener(listener);
+	}
+}
@@ -0,0 +1,221 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * Writes the CPUScheduling log in its text format. The text is built in a
+ * reused char buffer, with numbers formatted by hand, and written out in
+ * large blocks, so a time unit costs no Strings and no system call.
+ *
+ * @author Peyton Lundquist
+ * @date 10/17/2026
+ */
+public class TextSink implements SimulationSink {
+	private static final int BUFFERSIZE = 1 << 16;
+	private static final String LINE = System.lineSeparator();
+
+	private final Writer out;
+	private final char[] buffer;
+	private int length;
+	private boolean multiCore;
+	private boolean lineEnded; // The current time unit's line has been ended
+
+	/**
+	 * Constructor
+	 * @param out Stream the text is written to
+	 */
+	public TextSink(OutputStream out) {
+		this.out = new OutputStreamWriter(out);
+		buffer = new char[BUFFERSIZE];
+		length = 0;
+	}
+
+	@Override
+	public void start(int cores) {
+		multiCore = cores > 1;
+	}
+
+	@Override
+	public void tickStart(int time) {
+		append("second ");
+		appendPadded(time, 3);
+		append(": ");
+		lineEnded = false;
+	}
+
+	@Override
+	public void arrival(int time, Process p) {
+		append("JOB ");
+		append(time);
+		append(" arrives, timeRequired ");
+		append(p.getTimeRemaining());
+		append(", priority ");
+		append(p.getPriority());
+		append(LINE);
+		lineEnded = true;
+	}
+
+	@Override
+	public void dispatch(int time, int cpu, Process p) {
+		if(lineEnded) {
+			append("\t    ");
+		}
+		append("    (");
+		if(multiCore) {
+			append("CPU ");
+			append(cpu);
+			append(": ");
+		}
+		append("Assign to JOB ");
+		append(p.getArrivalTime());
+		if(p.finished()) {
+			append(": FINISH, priority ");
+		}else {
+			append(": timeRemaining ");
+			append(p.getTimeRemaining());
+			append(", priority ");
+		}
+		append(p.getPriority());
+		append(")");
+		if(multiCore) { // Later CPUs start on a new, indented line
+			append(LINE);
+			lineEnded = true;
+		}
+	}
+
+	@Override
+	public void tickEnd(int time) {
+		if(!multiCore || !lineEnded) {
+			append(LINE);
+		}
+	}
+
+	@Override
+	public void summary(int simulationTime, Averager turnaround) {
+		append("--- Simulation completed ---");
+		append(LINE);
+		append("Simulation time: ");
+		append(simulationTime);
+		append(" unit time.");
+		append(LINE);
+		append("Number of finished processes: ");
+		append(turnaround.getCount());
+		append(LINE);
+		append(String.format("Average Turn around time for a process: %4.2f\n", turnaround.getAverage()));
+	}
+
+	@Override
+	public void coreSummary(boolean perCoreQueues, Averager[] utilization, Averager[] turnaround) {
+		append("CPUs: ");
+		append(utilization.length);
+		append(", run queue: ");
+		append(perCoreQueues ? "per-core" : "global");
+		append(LINE);
+		for(int c = 0; c < utilization.length; c++) {
+			append(String.format("CPU %d: utilization %6.2f%%, finished %d, average turn around time %4.2f\n", c,
+					utilization[c].getAverage() * 100, turnaround[c].getCount(), turnaround[c].getAverage()));
+		}
+	}
+
+	@Override
+	public void statistics(Averager turnaround, LatencyHistogram histogram) {
+		append(String.format("Turn around time: min %.0f, max %.0f, standard deviation %4.2f\n",
+				turnaround.getMin(), turnaround.getMax(), turnaround.getStandardDeviation()));
+		append("Turn around time percentiles: p50 ");
+		append(Long.toString(histogram.getValueAtPercentile(50)));
+		append(", p90 ");
+		append(Long.toString(histogram.getValueAtPercentile(90)));
+		append(", p99 ");
+		append(Long.toString(histogram.getValueAtPercentile(99)));
+		append(", p99.9 ");
+		append(Long.toString(histogram.getValueAtPercentile(99.9)));
+		append(LINE);
+	}
+
+	@Override
+	public void close() {
+		flush();
+		try {
+			out.flush();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Appends text, writing out the buffer first if it would overflow.
+	 * @param s Text to append
+	 */
+	protected void append(String s) {
+		int n = s.length();
+		if(length + n > buffer.length) {
+			flush();
+			if(n > buffer.length) {
+				write(s.toCharArray(), n);
+				return;
+			}
+		}
+		s.getChars(0, n, buffer, length);
+		length += n;
+	}
+
+	/**
+	 * Appends a number in decimal, as String.valueOf would.
+	 * @param value Number to append
+	 */
+	protected void append(int value) {
+		appendPadded(value, 0);
+	}
+
+	/**
+	 * Appends a number in decimal, right-justified with spaces to a minimum
+	 * width, as the format %<width>d would.
+	 * @param value Number to append
+	 * @param width Minimum number of characters
+	 */
+	protected void appendPadded(int value, int width) {
+		if(length + 11 + width > buffer.length) { // Longest int is 11 characters
+			flush();
+		}
+		long v = value; // Long so that Integer.MIN_VALUE negates
+		boolean negative = v < 0;
+		if(negative) {
+			v = -v;
+		}
+		int digits = 1;
+		for(long t = v; t >= 10; t /= 10) {
+			digits++;
+		}
+		int chars = negative ? digits + 1 : digits;
+		for(int pad = chars; pad < width; pad++) {
+			buffer[length++] = ' ';
+		}
+		if(negative) {
+			buffer[length++] = '-';
+		}
+		int end = length + digits;
+		for(int i = end - 1; i >= length; i--) {
+			buffer[i] = (char) ('0' + v % 10);
+			v /= 10;
+		}
+		length = end;
+	}
+
+	/**
+	 * Writes out and empties the buffer.
+	 */
+	protected void flush() {
+		write(buffer, length);
+		length = 0;
+	}
+
+	private void write(char[] chars, int n) {
+		try {
+			out.write(chars, 0, n);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
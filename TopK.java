@@ -0,0 +1,139 @@
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+
+/**
+ * Selects the k greatest elements of a stream in one pass and O(k) memory.
+ * The elements kept so far are a binary min-heap of at most k, so its root
+ * is the smallest of them: an element that does not beat the root is
+ * rejected with one comparison, and one that does replaces the root and
+ * is sifted down in O(log k). A stream of n elements costs O(n log k).
+ *
+ * offer returns the element that is not kept, so a caller that decodes
+ * elements into mutable objects, such as records read from a trace, can
+ * reuse it for the next one and allocate only k + 1 objects in all.
+ *
+ * @author Peyton Lundquist
+ * @date 10/17/2026
+ *
+ * @param <T> Type of the elements
+ */
+public class TopK<T> {
+	private final T[] heap;
+	private final Comparator<? super T> order;
+	private int size;
+
+	/**
+	 * Constructor
+	 * @param k Number of elements to keep, at least 1
+	 * @param order Order in which the greatest elements are kept
+	 */
+	@SuppressWarnings("unchecked")
+	public TopK(int k, Comparator<? super T> order) {
+		if(k < 1) {
+			throw new IllegalArgumentException("Illegal argument: k must >= 1.");
+		}
+		heap = (T[]) new Object[k];
+		this.order = order;
+		size = 0;
+	}
+
+	/**
+	 * Returns the k highest priority Processes of an iterator, in the order
+	 * of Process.compareTo.
+	 * @param processes Processes to select from
+	 * @param k Number of Processes to keep
+	 * @return Up to k Processes, highest priority first
+	 */
+	public static Process[] highestPriority(Iterator<Process> processes, int k) {
+		TopK<Process> top = new TopK<Process>(k, Comparator.naturalOrder());
+		while(processes.hasNext()) {
+			top.offer(processes.next());
+		}
+		return top.toSortedArray(new Process[0]);
+	}
+
+	/**
+	 * Offers an element to the selection.
+	 * @param element Element to offer
+	 * @return The element that was dropped: element itself if it is not
+	 * among the k greatest so far, the one it displaced if it is, or null
+	 * while fewer than k elements have been offered
+	 */
+	public T offer(T element) {
+		if(size < heap.length) {
+			siftUp(size++, element);
+			return null;
+		}
+		if(order.compare(element, heap[0]) <= 0) { // No greater than the least kept
+			return element;
+		}
+		T dropped = heap[0];
+		siftDown(0, element);
+		return dropped;
+	}
+
+	/**
+	 * Returns the least element kept, the one the next offer must beat once k are kept.
+	 * @return The least kept element, or null if none has been offered
+	 */
+	public T minimum() {
+		return size == 0 ? null : heap[0];
+	}
+
+	/**
+	 * Returns the number of elements kept.
+	 * @return Number of elements kept, at most k
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the kept elements, greatest first. The selection is unchanged.
+	 * @param array Array of the element type, used as in Collection.toArray
+	 * @return A new array of the kept elements, greatest first
+	 */
+	@SuppressWarnings("unchecked")
+	public T[] toSortedArray(T[] array) {
+		T[] sorted = Arrays.copyOf(heap, size, (Class<? extends T[]>) array.getClass());
+		Arrays.sort(sorted, order.reversed());
+		return sorted;
+	}
+
+	/**
+	 * Places an element at or above index i, moving the hole past every
+	 * ancestor greater than it.
+	 */
+	private void siftUp(int i, T element) {
+		while(i > 0) {
+			int parent = (i - 1) >> 1;
+			if(order.compare(element, heap[parent]) >= 0) {
+				break;
+			}
+			heap[i] = heap[parent];
+			i = parent;
+		}
+		heap[i] = element;
+	}
+
+	/**
+	 * Places an element at or below index i, moving the hole past every
+	 * child less than it.
+	 */
+	private void siftDown(int i, T element) {
+		int half = size >> 1;
+		while(i < half) {
+			int child = 2 * i + 1;
+			if(child + 1 < size && order.compare(heap[child + 1], heap[child]) < 0) {
+				child++;
+			}
+			if(order.compare(heap[child], element) >= 0) {
+				break;
+			}
+			heap[i] = heap[child];
+			i = child;
+		}
+		heap[i] = element;
+	}
+}
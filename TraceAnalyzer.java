@@ -0,0 +1,210 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+
+/**
+ * Reads a trace written with CPUScheduling's --trace option. By default it
+ * recomputes the run's statistics: event counts, turn around times and the
+ * utilization of each CPU. With --replay it instead feeds the trace through
+ * a TextSink, reproducing the run's console output exactly. With --top k it
+ * lists the k finished Processes with the longest turn around times, in
+ * one pass over the trace and O(k) memory however long the trace is.
+ *
+ * Usage: java TraceAnalyzer <trace-file> [--replay | --top k]
+ *
+ * @author Peyton Lundquist
+ * @date 10/17/2026
+ */
+public class TraceAnalyzer {
+	private final Path path;
+
+	public static void main(String[] args) throws IOException {
+		boolean replay = args.length == 2 && args[1].equals("--replay");
+		boolean top = args.length == 3 && args[1].equals("--top");
+		if(args.length < 1 || args.length > 3 || (args.length > 1 && !replay && !top)) {
+			System.out.println("Usage: java TraceAnalyzer <trace-file> [--replay | --top k]");
+			System.exit(1);
+		}
+		TraceAnalyzer analyzer = new TraceAnalyzer(Paths.get(args[0]));
+		if(replay) {
+			analyzer.replay(new TextSink(System.out));
+		}else if(top) {
+			analyzer.longestTurnaround(Integer.parseInt(args[2]));
+		}else {
+			analyzer.analyze();
+		}
+	}
+
+	/**
+	 * Constructor
+	 * @param path Trace file to read
+	 */
+	public TraceAnalyzer(Path path) {
+		this.path = path;
+	}
+
+	/**
+	 * Recomputes and prints the statistics of the traced run.
+	 * @throws IOException If the trace cannot be read
+	 */
+	@SuppressWarnings("fallthrough")
+	public void analyze() throws IOException {
+		long start = System.nanoTime();
+		long arrivals = 0;
+		long dispatches = 0;
+		long promotions = 0;
+		Averager turnaround = new Averager();
+		LatencyHistogram histogram = new LatencyHistogram();
+		try(TraceReader reader = new TraceReader(path)) {
+			int cores = reader.getCores();
+			long[] busy = new long[cores];
+			Averager[] coreTurnaround = new Averager[cores];
+			for(int c = 0; c < cores; c++) {
+				coreTurnaround[c] = new Averager();
+			}
+			for(int tag = reader.next(); tag != TraceWriter.END; tag = reader.next()) {
+				switch(tag) {
+				case TraceWriter.ARRIVAL:
+					arrivals++;
+					break;
+				case TraceWriter.PROMOTION:
+					promotions++;
+					break;
+				case TraceWriter.FINISH:
+					int time = reader.getTime() - reader.getArrivalTime() + 1;
+					turnaround.addNumber(time);
+					histogram.record(time);
+					coreTurnaround[reader.getCpu()].addNumber(time);
+					// Fall through: a finish is also a dispatch
+				case TraceWriter.DISPATCH:
+					dispatches++;
+					busy[reader.getCpu()]++;
+					break;
+				}
+			}
+			long elapsed = System.nanoTime() - start;
+			int simulationTime = reader.getSimulationTime();
+			System.out.println("Trace: " + path + ", " + reader.getFileSize() + " bytes, read in "
+					+ elapsed / 1000000 + " ms");
+			System.out.println("Simulation time: " + simulationTime + " unit time, CPUs: " + cores
+					+ (cores > 1 ? ", run queue: " + (reader.isPerCoreQueues() ? "per-core" : "global") : ""));
+			System.out.println("Events: " + arrivals + " arrivals, " + dispatches + " dispatches, " + promotions
+					+ " promotions, " + turnaround.getCount() + " finishes");
+			System.out.println("Number of finished processes: " + turnaround.getCount());
+			System.out.printf("Average Turn around time for a process: %4.2f\n", turnaround.getAverage());
+			if(turnaround.getCount() > 0) {
+				System.out.printf("Turn around time: min %.0f, max %.0f, standard deviation %4.2f\n",
+						turnaround.getMin(), turnaround.getMax(), turnaround.getStandardDeviation());
+				System.out.println("Turn around time percentiles: p50 " + histogram.getValueAtPercentile(50)
+						+ ", p90 " + histogram.getValueAtPercentile(90) + ", p99 " + histogram.getValueAtPercentile(99)
+						+ ", p99.9 " + histogram.getValueAtPercentile(99.9));
+			}
+			for(int c = 0; c < cores; c++) {
+				System.out.printf("CPU %d: utilization %6.2f%%, finished %d, average turn around time %4.2f\n", c,
+						(double) busy[c] / simulationTime * 100, coreTurnaround[c].getCount(), coreTurnaround[c].getAverage());
+			}
+		}
+	}
+
+	/**
+	 * Prints the k finished Processes with the longest turn around times,
+	 * longest first, selected with a TopK as the trace is read.
+	 * @param k Number of Processes to list
+	 * @throws IOException If the trace cannot be read
+	 */
+	public void longestTurnaround(int k) throws IOException {
+		TopK<Finish> top = new TopK<Finish>(k, Comparator.comparingInt((Finish f) -> f.turnaround)
+				.thenComparing(f -> -f.arrivalTime));
+		try(TraceReader reader = new TraceReader(path)) {
+			Finish finish = new Finish();
+			for(int tag = reader.next(); tag != TraceWriter.END; tag = reader.next()) {
+				if(tag != TraceWriter.FINISH) {
+					continue;
+				}
+				finish.id = reader.getId();
+				finish.arrivalTime = reader.getArrivalTime();
+				finish.turnaround = reader.getTime() - reader.getArrivalTime() + 1;
+				finish.priority = reader.getPriority();
+				finish.cpu = reader.getCpu();
+				Finish dropped = top.offer(finish);
+				finish = (dropped == null) ? new Finish() : dropped;
+			}
+		}
+		System.out.println("Longest turn around times:");
+		for(Finish f : top.toSortedArray(new Finish[0])) {
+			System.out.println("JOB " + f.arrivalTime + " (id " + f.id + "): turn around time " + f.turnaround
+					+ ", priority " + f.priority + ", CPU " + f.cpu);
+		}
+	}
+
+	/**
+	 * A FINISH record, reused once TopK drops it.
+	 */
+	private static class Finish {
+		int id;
+		int arrivalTime;
+		int turnaround;
+		int priority;
+		int cpu;
+	}
+
+	/**
+	 * Replays the traced run's events, time unit by time unit, into a sink.
+	 * @param sink Sink to replay into
+	 * @throws IOException If the trace cannot be read
+	 */
+	public void replay(SimulationSink sink) throws IOException {
+		try(TraceReader reader = new TraceReader(path)) {
+			int cores = reader.getCores();
+			Averager turnaround = new Averager();
+			Averager[] coreTurnaround = new Averager[cores];
+			long[] busy = new long[cores];
+			for(int c = 0; c < cores; c++) {
+				coreTurnaround[c] = new Averager();
+			}
+			sink.start(cores);
+			int currentTime = 0;
+			sink.tickStart(currentTime);
+			for(int tag = reader.next(); tag != TraceWriter.END; tag = reader.next()) {
+				if(tag == TraceWriter.PROMOTION) {
+					continue;
+				}
+				while(currentTime < reader.getTime()) {
+					sink.tickEnd(currentTime);
+					sink.tickStart(++currentTime);
+				}
+				Process p = new Process(reader.getId(), reader.getArrivalTime(), reader.getTimeRemaining(),
+						reader.getPriority());
+				if(tag == TraceWriter.ARRIVAL) {
+					sink.arrival(currentTime, p);
+					continue;
+				}
+				sink.dispatch(currentTime, reader.getCpu(), p);
+				busy[reader.getCpu()]++;
+				if(tag == TraceWriter.FINISH) {
+					turnaround.addNumber(currentTime - p.getArrivalTime() + 1);
+					coreTurnaround[reader.getCpu()].addNumber(currentTime - p.getArrivalTime() + 1);
+				}
+			}
+			int simulationTime = reader.getSimulationTime();
+			while(currentTime < simulationTime - 1) {
+				sink.tickEnd(currentTime);
+				sink.tickStart(++currentTime);
+			}
+			sink.tickEnd(currentTime);
+			sink.summary(simulationTime, turnaround);
+			if(cores > 1) {
+				Averager[] utilization = new Averager[cores];
+				for(int c = 0; c < cores; c++) {
+					utilization[c] = new Averager();
+					for(int t = 0; t < simulationTime; t++) {
+						utilization[c].addNumber(t < busy[c] ? 1 : 0);
+					}
+				}
+				sink.coreSummary(reader.isPerCoreQueues(), utilization, coreTurnaround);
+			}
+			sink.close();
+		}
+	}
+}
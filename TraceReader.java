@@ -0,0 +1,224 @@
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a trace written by TraceWriter, one record at a time. The file is
+ * memory-mapped in windows of up to WINDOW bytes, so traces larger than a
+ * single mapping are read without copying them onto the Java heap.
+ *
+ * next returns the tag of the following record and decodes its fields,
+ * which are then available from the getters until the next call. A trace
+ * cut short, such as one from a run that was killed, ends as if it had an
+ * END record one time unit after its last event.
+ *
+ * @author Peyton Lundquist
+ * @date 10/17/2026
+ */
+public class TraceReader implements AutoCloseable {
+	private static final long WINDOW = 1L << 30;
+
+	private final FileChannel channel;
+	private final long fileSize;
+	private MappedByteBuffer map;
+	private long mapStart;     // File offset of the current mapping
+	private int cores;
+
+	private int time;
+	private int cpu;
+	private int id;
+	private int arrivalTime;
+	private int timeRemaining;
+	private int priority;
+	private int simulationTime;
+	private boolean perCoreQueues;
+
+	/**
+	 * Constructor
+	 * @param path Trace file to read
+	 * @throws IOException If the file cannot be read or is not a trace
+	 */
+	public TraceReader(Path path) throws IOException {
+		channel = FileChannel.open(path, StandardOpenOption.READ);
+		fileSize = channel.size();
+		remap(0);
+		if(fileSize < 5 || map.getInt() != TraceWriter.MAGIC) {
+			channel.close();
+			throw new IOException(path + " is not a scheduling trace.");
+		}
+		int version = map.get();
+		if(version != TraceWriter.VERSION) {
+			channel.close();
+			throw new IOException(path + " has unsupported trace version " + version + ".");
+		}
+		cores = getVarint();
+	}
+
+	/**
+	 * Reads the next record.
+	 * @return The record's tag, TraceWriter.END once the trace is over
+	 * @throws IOException If the trace cannot be read
+	 */
+	public int next() throws IOException {
+		if(map.remaining() < TraceWriter.MAX_RECORD && mapStart + map.position() < fileSize) {
+			remap(mapStart + map.position());
+		}
+		if(!map.hasRemaining()) {
+			return truncated();
+		}
+		int tag = map.get();
+		try {
+			if(tag == TraceWriter.END) {
+				simulationTime = getVarint();
+				perCoreQueues = getVarint() != 0;
+				map.position(map.limit());
+				return tag;
+			}
+			time += getVarint();
+			readFields(tag);
+		} catch (BufferUnderflowException e) {
+			return truncated();
+		}
+		return tag;
+	}
+
+	/**
+	 * Decodes the fields of a record after its time.
+	 */
+	private void readFields(int tag) throws IOException {
+		switch(tag) {
+		case TraceWriter.ARRIVAL:
+			readId();
+			arrivalTime = time;
+			timeRemaining = getVarint();
+			priority = getVarint();
+			break;
+		case TraceWriter.DISPATCH:
+		case TraceWriter.FINISH:
+			cpu = getVarint();
+			readId();
+			arrivalTime = time - getVarint();
+			timeRemaining = tag == TraceWriter.FINISH ? 0 : getVarint();
+			priority = getVarint();
+			break;
+		case TraceWriter.PROMOTION:
+			readId();
+			priority = getVarint();
+			break;
+		default:
+			throw new IOException("Corrupt trace: unknown record tag " + tag + ".");
+		}
+	}
+
+	/**
+	 * Ends a trace that has no END record.
+	 */
+	private int truncated() {
+		simulationTime = time + 1;
+		map.position(map.limit());
+		return TraceWriter.END;
+	}
+
+	/**
+	 * @return Number of simulated CPUs
+	 */
+	public int getCores() {
+		return cores;
+	}
+
+	/**
+	 * @return Time unit of the current record
+	 */
+	public int getTime() {
+		return time;
+	}
+
+	/**
+	 * @return CPU of the current dispatch or finish record
+	 */
+	public int getCpu() {
+		return cpu;
+	}
+
+	/**
+	 * @return Process id of the current record
+	 */
+	public int getId() {
+		return id;
+	}
+
+	/**
+	 * @return Arrival time of the current arrival, dispatch or finish record's Process
+	 */
+	public int getArrivalTime() {
+		return arrivalTime;
+	}
+
+	/**
+	 * @return Time remaining of the current record's Process, or its time
+	 *         required for an arrival
+	 */
+	public int getTimeRemaining() {
+		return timeRemaining;
+	}
+
+	/**
+	 * @return Priority of the current record's Process
+	 */
+	public int getPriority() {
+		return priority;
+	}
+
+	/**
+	 * @return Length of the run, once next has returned END
+	 */
+	public int getSimulationTime() {
+		return simulationTime;
+	}
+
+	/**
+	 * @return Whether the run had per-core run queues, once next has returned END
+	 */
+	public boolean isPerCoreQueues() {
+		return perCoreQueues;
+	}
+
+	/**
+	 * @return Size of the trace file in bytes
+	 */
+	public long getFileSize() {
+		return fileSize;
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	private void readId() {
+		int delta = getVarint();
+		id += (delta >>> 1) ^ -(delta & 1); // Undo the zig-zag encoding
+	}
+
+	private int getVarint() {
+		int value = 0;
+		for(int shift = 0;; shift += 7) {
+			int b = map.get();
+			value |= (b & 0x7F) << shift;
+			if(b >= 0) {
+				return value;
+			}
+		}
+	}
+
+	/**
+	 * Maps the window of the file starting at a given offset.
+	 */
+	private void remap(long start) throws IOException {
+		mapStart = start;
+		map = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(WINDOW, fileSize - start));
+	}
+}
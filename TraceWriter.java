@@ -0,0 +1,217 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Records a CPUScheduling run as a compact binary trace, and passes every
+ * event on to another sink so the run's console output is unchanged. The
+ * trace holds the arrival, dispatch, promotion and finish events, which is
+ * enough for TraceAnalyzer to recompute the statistics or replay the run's
+ * text output exactly.
+ *
+ * A trace starts with the int MAGIC, the byte VERSION and the number of
+ * CPUs, followed by one record per event. A record is a tag byte and a
+ * list of varints: times are deltas from the previous record, Process ids
+ * are zig-zag deltas from the previous id, and arrival times are stored as
+ * the Process's age at the time of the record. The END record closes the
+ * trace with the simulation time and run queue type.
+ *
+ *   ARRIVAL    tag, time, id, timeRequired, priority
+ *   DISPATCH   tag, time, cpu, id, age, timeRemaining, priority
+ *   FINISH     tag, time, cpu, id, age, priority
+ *   PROMOTION  tag, time, id, priority
+ *   END        tag, simulationTime, perCoreQueues
+ *
+ * Records are built in a direct buffer and written through a FileChannel
+ * in large blocks.
+ *
+ * @author Peyton Lundquist
+ * @date 10/17/2026
+ */
+public class TraceWriter implements SimulationSink, PromotionListener {
+	static final int MAGIC = 0x43505554; // "CPUT"
+	static final int VERSION = 1;
+	static final int END = 0;
+	static final int ARRIVAL = 1;
+	static final int DISPATCH = 2;
+	static final int FINISH = 3;
+	static final int PROMOTION = 4;
+	static final int MAX_RECORD = 1 + 6 * 5; // Tag and six varints
+
+	private static final int BUFFERSIZE = 1 << 16;
+
+	private final FileChannel channel;
+	private final ByteBuffer buffer;
+	private final SimulationSink next;
+	private int time;        // Current time unit
+	private int lastTime;    // Time of the previous record
+	private int lastId;      // Process id of the previous record
+	private int simulationTime;
+	private boolean perCoreQueues;
+
+	/**
+	 * Constructor
+	 * @param path File to write the trace to, replacing any existing file
+	 * @param next Sink that receives every event after it is recorded
+	 * @throws IOException If the file cannot be opened
+	 */
+	public TraceWriter(Path path, SimulationSink next) throws IOException {
+		channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+		buffer = ByteBuffer.allocateDirect(BUFFERSIZE);
+		this.next = next;
+	}
+
+	@Override
+	public void start(int cores) {
+		buffer.putInt(MAGIC);
+		buffer.put((byte) VERSION);
+		putVarint(cores);
+		next.start(cores);
+	}
+
+	@Override
+	public void tickStart(int time) {
+		this.time = time;
+		next.tickStart(time);
+	}
+
+	@Override
+	public void arrival(int time, Process p) {
+		record(ARRIVAL, p.getId());
+		putVarint(p.getTimeRemaining());
+		putVarint(p.getPriority());
+		next.arrival(time, p);
+	}
+
+	@Override
+	public void dispatch(int time, int cpu, Process p) {
+		boolean finished = p.finished();
+		record(finished ? FINISH : DISPATCH, cpu, p.getId());
+		putVarint(time - p.getArrivalTime());
+		if(!finished) {
+			putVarint(p.getTimeRemaining());
+		}
+		putVarint(p.getPriority());
+		next.dispatch(time, cpu, p);
+	}
+
+	@Override
+	public void promoted(int id, int priority) {
+		record(PROMOTION, id);
+		putVarint(priority);
+	}
+
+	@Override
+	public void tickEnd(int time) {
+		next.tickEnd(time);
+	}
+
+	@Override
+	public void idle(int from, int to) {
+		next.idle(from, to);
+	}
+
+	@Override
+	public void summary(int simulationTime, Averager turnaround) {
+		this.simulationTime = simulationTime;
+		next.summary(simulationTime, turnaround);
+	}
+
+	@Override
+	public void coreSummary(boolean perCoreQueues, Averager[] utilization, Averager[] turnaround) {
+		this.perCoreQueues = perCoreQueues;
+		next.coreSummary(perCoreQueues, utilization, turnaround);
+	}
+
+	@Override
+	public void statistics(Averager turnaround, LatencyHistogram histogram) {
+		next.statistics(turnaround, histogram);
+	}
+
+	@Override
+	public void close() {
+		reserve();
+		buffer.put((byte) END);
+		putVarint(simulationTime);
+		putVarint(perCoreQueues ? 1 : 0);
+		try {
+			drain();
+			channel.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		next.close();
+	}
+
+	/**
+	 * Starts a record with its tag, time delta and id delta.
+	 */
+	private void record(int tag, int id) {
+		reserve();
+		buffer.put((byte) tag);
+		putTime();
+		putVarint(zigZag(id - lastId));
+		lastId = id;
+	}
+
+	/**
+	 * Starts a record with its tag, time delta, CPU and id delta.
+	 */
+	private void record(int tag, int cpu, int id) {
+		reserve();
+		buffer.put((byte) tag);
+		putTime();
+		putVarint(cpu);
+		putVarint(zigZag(id - lastId));
+		lastId = id;
+	}
+
+	private void putTime() {
+		putVarint(time - lastTime);
+		lastTime = time;
+	}
+
+	/**
+	 * Writes out the buffer if the next record might not fit.
+	 */
+	private void reserve() {
+		if(buffer.remaining() < MAX_RECORD) {
+			try {
+				drain();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+
+	private void drain() throws IOException {
+		buffer.flip();
+		while(buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	/**
+	 * Writes a non-negative int as a varint: seven bits per byte, low bits
+	 * first, with the high bit set on every byte but the last.
+	 */
+	private void putVarint(int value) {
+		while((value & ~0x7F) != 0) {
+			buffer.put((byte) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		buffer.put((byte) value);
+	}
+
+	/**
+	 * Maps signed ints to unsigned ones so that small negatives stay small.
+	 */
+	static int zigZag(int value) {
+		return (value << 1) ^ (value >> 31);
+	}
+}
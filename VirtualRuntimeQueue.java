@@ -0,0 +1,87 @@
+import java.util.Comparator;
+import java.util.TreeSet;
+
+/**
+ * VirtualRuntimeQueue schedules in the style of the Linux Completely Fair
+ * Scheduler. Each Process accumulates virtual runtime as it runs, at a rate
+ * inversely proportional to its weight, and the Process with the least
+ * virtual runtime runs next. Queued Processes are kept in a red-black tree
+ * (a TreeSet) ordered by virtual runtime, then by arrival.
+ *
+ * Weights grow by 1.25 per priority level, as between adjacent nice
+ * levels, so a Process one level higher gets about 25% more CPU time.
+ * Like the kernel's 40 nice levels, priorities above 40 share the weight
+ * of priority 40. An arriving Process starts at the queue's minimum
+ * virtual runtime rather than at zero, so it cannot monopolize the CPU.
+ *
+ * @author Peyton Lundquist
+ * @date 10/17/2026
+ */
+public class VirtualRuntimeQueue implements PriorityQueueInterface {
+	private static final int LEVELS = 40;
+	private static final long[] DELTAS = new long[LEVELS]; // Virtual runtime per time unit, by priority
+
+	static {
+		for(int level = 0; level < LEVELS; level++) {
+			DELTAS[level] = Math.max(1, Math.round((1 << 24) / Math.pow(1.25, level)));
+		}
+	}
+
+	private final TreeSet<Process> tree;
+	private long minVirtualTime;
+
+	/**
+	 * Constructor
+	 */
+	public VirtualRuntimeQueue() {
+		tree = new TreeSet<Process>(Comparator.comparingLong(Process::getVirtualTime)
+				.thenComparingInt(Process::getArrivalTime));
+		minVirtualTime = 0;
+	}
+
+	@Override
+	public void enqueue(Process p) {
+		if(p.getVirtualTime() < minVirtualTime) {
+			p.setVirtualTime(minVirtualTime);
+		}
+		tree.add(p);
+	}
+
+	@Override
+	public Process dequeue() {
+		Process next = tree.pollFirst();
+		if(next == null) {
+			return null;
+		}
+		minVirtualTime = next.getVirtualTime();
+		next.setVirtualTime(minVirtualTime + delta(next.getPriority()));
+		return next;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return tree.isEmpty();
+	}
+
+	/**
+	 * Returns the number of queued Processes.
+	 * @return Number of Processes in the queue
+	 */
+	public int size() {
+		return tree.size();
+	}
+
+	@Override
+	public void update(Process next, int timeToIncrementPriority, int maxPriority) {
+		next.resetWaitingTime();
+	}
+
+	/**
+	 * Virtual runtime charged for one time unit at a priority.
+	 * @param priority Priority of the Process
+	 * @return Virtual runtime to add
+	 */
+	private static long delta(int priority) {
+		return DELTAS[Math.max(0, Math.min(LEVELS - 1, priority - 1))];
+	}
+}
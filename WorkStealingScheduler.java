@@ -0,0 +1,380 @@
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A multi-threaded dispatcher in which every worker thread has a run queue
+ * of its own, a MyPriorityQueue guarded by its monitor. Each dispatch, a
+ * worker takes the highest priority Process available to it, runs it for
+ * one time unit, ages its own queue with update, and queues the Process
+ * again, or a new arrival in its place once it finishes. The number of
+ * queued Processes therefore stays at depth, as in a loaded system.
+ *
+ * Each queue publishes the priority of its top Process, or 0 when empty, in
+ * a shared array. Before each dispatch a worker reads every published top,
+ * and when the best of them exceeds its own by more than slack, it steals
+ * that Process instead of running its own. An idle worker steals from any
+ * queue that holds work. A thief checks again, under the victim's
+ * monitor, that the victim's top still beats its own. So apart from tops
+ * that change while a worker is between the two, no dispatch runs a
+ * Process more than slack levels below the best one left queued anywhere.
+ * This inversion, the best published top at the moment of dispatch less
+ * the priority of the Process dispatched, is recorded for every dispatch.
+ *
+ * For comparison, the locked scheduler gives every worker the same single
+ * MyPriorityQueue and runs each whole dispatch under its monitor, so it has
+ * no inversion but serializes every worker on one lock and ages every
+ * queued Process on every dispatch.
+ *
+ * The benchmark runs each scheduler for a fixed time at each thread count
+ * and prints CSV: scheduler, threads, seconds, dispatches, dispatches per
+ * second, steals, the percentage of dispatches with an inversion, and the
+ * mean, p99, p99.9 and maximum inversion.
+ *
+ * Usage: java WorkStealingScheduler [--threads 1,2,4,...] [--seconds s]
+ *        [--depth n] [--slack levels] [--max-priority p] [--aging t]
+ *        [--schedulers stealing,locked] [--seed s]
+ *
+ * @author Peyton Lundquist
+ * @date 10/17/2026
+ */
+public class WorkStealingScheduler {
+	private static final int MAX_PROCESS_TIME = 10;
+	private static final int PAD = 16; // Published tops sit a cache line apart
+
+	private final int workers;
+	private final boolean stealing;
+	private final int slack;
+	private final int depth;
+	private final int maxPriority;
+	private final int timeToIncrementPriority;
+	private final long seed;
+	private final MyPriorityQueue[] queues;
+	private final AtomicIntegerArray tops;
+	private final Worker[] threads;
+	private volatile boolean stopped;
+
+	/**
+	 * Constructor
+	 * @param workers Number of worker threads
+	 * @param stealing true for a queue per worker with stealing, false for
+	 * one queue shared under a lock
+	 * @param slack Levels a queue's top may exceed a worker's own before it steals
+	 * @param depth Number of Processes kept queued
+	 * @param maxPriority The maximum priority level for any given Process
+	 * @param timeToIncrementPriority The time to increment the priority of a Process
+	 * @param seed Seed of the workload, split between the workers
+	 */
+	public WorkStealingScheduler(int workers, boolean stealing, int slack, int depth, int maxPriority,
+			int timeToIncrementPriority, long seed) {
+		if(workers < 1 || slack < 0 || depth < 0) {
+			throw new IllegalArgumentException("Illegal argument: workers must >= 1, slack and depth >= 0.");
+		}
+		this.workers = workers;
+		this.stealing = stealing;
+		this.slack = slack;
+		this.depth = depth;
+		this.maxPriority = maxPriority;
+		this.timeToIncrementPriority = timeToIncrementPriority;
+		this.seed = seed;
+		queues = new MyPriorityQueue[stealing ? workers : 1];
+		tops = new AtomicIntegerArray(queues.length * PAD);
+		threads = new Worker[workers];
+	}
+
+	public static void main(String[] args) throws InterruptedException {
+		int[] threadCounts = {1, 2, 4, 8, 16, 32, 64};
+		double seconds = 2.0;
+		int depth = 1000;
+		int slack = 2;
+		int maxPriority = 1000;
+		int aging = 10;
+		long seed = 42;
+		String[] schedulers = {"stealing", "locked"};
+		for(int i = 0; i + 1 < args.length; i += 2) {
+			String value = args[i + 1];
+			switch(args[i]) {
+			case "--threads":
+				String[] counts = value.split(",");
+				threadCounts = new int[counts.length];
+				for(int j = 0; j < counts.length; j++) {
+					threadCounts[j] = Integer.parseInt(counts[j].trim());
+				}
+				break;
+			case "--seconds":
+				seconds = Double.parseDouble(value);
+				break;
+			case "--depth":
+				depth = Integer.parseInt(value);
+				break;
+			case "--slack":
+				slack = Integer.parseInt(value);
+				break;
+			case "--max-priority":
+				maxPriority = Integer.parseInt(value);
+				break;
+			case "--aging":
+				aging = Integer.parseInt(value);
+				break;
+			case "--schedulers":
+				schedulers = value.split(",");
+				break;
+			case "--seed":
+				seed = Long.parseLong(value);
+				break;
+			default:
+				throw new IllegalArgumentException("Illegal argument: unknown option " + args[i] + ".");
+			}
+		}
+		System.out.println("scheduler,threads,seconds,dispatches,dispatchesPerSecond,steals,invertedPercent,"
+				+ "meanInversion,p99Inversion,p999Inversion,maxInversion");
+		for(String name : schedulers) {
+			if(!name.equals("stealing") && !name.equals("locked")) {
+				throw new IllegalArgumentException("Illegal argument: unknown scheduler " + name + ".");
+			}
+			boolean stealing = name.equals("stealing");
+			int most = threadCounts[threadCounts.length - 1];
+			new WorkStealingScheduler(most, stealing, slack, depth, maxPriority, aging, seed).run(Math.min(seconds, 1.0)); // Warm-up
+			for(int threads : threadCounts) {
+				WorkStealingScheduler scheduler =
+						new WorkStealingScheduler(threads, stealing, slack, depth, maxPriority, aging, seed);
+				scheduler.run(seconds);
+				LatencyHistogram inversions = scheduler.getInversions();
+				long dispatches = scheduler.getDispatches();
+				System.out.printf("%s,%d,%.2f,%d,%.0f,%d,%.3f,%.4f,%d,%d,%d%n", name, threads, seconds, dispatches,
+						dispatches / seconds, scheduler.getSteals(), 100.0 * scheduler.getInverted() / dispatches,
+						(double) scheduler.getInversionSum() / dispatches, inversions.getValueAtPercentile(99),
+						inversions.getValueAtPercentile(99.9), inversions.getMax());
+			}
+		}
+	}
+
+	/**
+	 * Fills the queues with depth seeded Processes, dealt round robin, then
+	 * runs the workers for the given time.
+	 * @param duration Time to run in seconds
+	 */
+	public void run(double duration) throws InterruptedException {
+		for(int q = 0; q < queues.length; q++) {
+			queues[q] = new MyPriorityQueue();
+		}
+		Random rand = new Random(seed);
+		for(int i = 0; i < depth; i++) {
+			queues[i % queues.length].enqueue(new Process(0, rand.nextInt(MAX_PROCESS_TIME) + 1,
+					rand.nextInt(maxPriority) + 1));
+		}
+		for(int q = 0; q < queues.length; q++) {
+			publish(q);
+		}
+		CountDownLatch start = new CountDownLatch(1);
+		for(int w = 0; w < workers; w++) {
+			threads[w] = new Worker(w, start);
+			threads[w].start();
+		}
+		stopped = false;
+		start.countDown();
+		Thread.sleep((long) (duration * 1000));
+		stopped = true;
+		for(Worker worker : threads) {
+			worker.join();
+		}
+	}
+
+	/**
+	 * Publishes the priority of a queue's top Process. Call holding the queue's monitor.
+	 * @param q Index of the queue
+	 */
+	private void publish(int q) {
+		Process top = queues[q].heapMaximum();
+		tops.set(q * PAD, top == null ? 0 : top.getPriority());
+	}
+
+	/**
+	 * @return Number of Processes dispatched by all workers
+	 */
+	public long getDispatches() {
+		long total = 0;
+		for(Worker worker : threads) {
+			total += worker.dispatches;
+		}
+		return total;
+	}
+
+	/**
+	 * @return Number of Processes taken from another worker's queue
+	 */
+	public long getSteals() {
+		long total = 0;
+		for(Worker worker : threads) {
+			total += worker.steals;
+		}
+		return total;
+	}
+
+	/**
+	 * @return Number of dispatches with an inversion above 0
+	 */
+	public long getInverted() {
+		long total = 0;
+		for(Worker worker : threads) {
+			total += worker.inverted;
+		}
+		return total;
+	}
+
+	/**
+	 * @return Sum of the inversions of every dispatch
+	 */
+	public long getInversionSum() {
+		long total = 0;
+		for(Worker worker : threads) {
+			total += worker.inversionSum;
+		}
+		return total;
+	}
+
+	/**
+	 * @return Histogram of the inversion of every dispatch, in priority levels
+	 */
+	public LatencyHistogram getInversions() {
+		LatencyHistogram all = new LatencyHistogram();
+		for(Worker worker : threads) {
+			all.merge(worker.inversions);
+		}
+		return all;
+	}
+
+	/**
+	 * A worker thread and its counts, which only it writes until it ends.
+	 */
+	private class Worker extends Thread {
+		private final int id;
+		private final CountDownLatch start;
+		private final Random rand;
+		private final ProcessPool pool = new ProcessPool();
+		private final LatencyHistogram inversions = new LatencyHistogram();
+		private long dispatches;
+		private long steals;
+		private long inverted;
+		private long inversionSum;
+
+		Worker(int id, CountDownLatch start) {
+			this.id = id;
+			this.start = start;
+			rand = new Random(seed * 31 + id);
+		}
+
+		@Override
+		public void run() {
+			try {
+				start.await();
+			} catch (InterruptedException e) {
+				return;
+			}
+			while(!stopped) {
+				for(int k = 0; k < 64; k++) { // Check the stop flag in batches
+					if(stealing) {
+						dispatchOwnOrStolen();
+					}else {
+						dispatchShared();
+					}
+				}
+			}
+		}
+
+		/**
+		 * One dispatch of the locked scheduler, entirely under the shared queue's monitor.
+		 */
+		private void dispatchShared() {
+			MyPriorityQueue queue = queues[0];
+			synchronized(queue) {
+				Process p = queue.isEmpty() ? null : queue.dequeue();
+				if(p != null) {
+					runAndRequeue(queue, p);
+					record(0);
+				}
+			}
+		}
+
+		/**
+		 * One dispatch of the work-stealing scheduler: steal the best
+		 * published top if it beats this worker's own by more than slack,
+		 * otherwise run the worker's own top.
+		 */
+		private void dispatchOwnOrStolen() {
+			int own = tops.get(id * PAD);
+			int victim = id;
+			int best = own;
+			for(int i = 1; i < queues.length; i++) { // Neighbours first
+				int q = id + i < queues.length ? id + i : id + i - queues.length;
+				int top = tops.get(q * PAD);
+				if(top > best) {
+					best = top;
+					victim = q;
+				}
+			}
+			Process p = null;
+			if(victim != id && (best > own + slack || own == 0)) {
+				MyPriorityQueue queue = queues[victim];
+				synchronized(queue) {
+					Process top = queue.heapMaximum();
+					own = tops.get(id * PAD);
+					if(top != null && (top.getPriority() > own + slack || own == 0)) { // Still worth it
+						p = queue.dequeue();
+						publish(victim);
+						steals++;
+					}
+				}
+			}
+			MyPriorityQueue queue = queues[id];
+			synchronized(queue) {
+				if(p == null && !queue.isEmpty()) {
+					p = queue.dequeue();
+					publish(id);
+				}
+				if(p != null) {
+					int inversion = Math.max(0, bestTop() - p.getPriority());
+					runAndRequeue(queue, p);
+					record(inversion);
+				}
+				publish(id);
+			}
+		}
+
+		/**
+		 * @return The highest published top of all queues
+		 */
+		private int bestTop() {
+			int best = 0;
+			for(int q = 0; q < queues.length; q++) {
+				best = Math.max(best, tops.get(q * PAD));
+			}
+			return best;
+		}
+
+		/**
+		 * Runs a Process for one time unit, ages the queue, and queues the
+		 * Process again or a new arrival in its place.
+		 */
+		private void runAndRequeue(MyPriorityQueue queue, Process p) {
+			p.decrementTimeRemaining();
+			queue.update(p, timeToIncrementPriority, maxPriority);
+			if(p.finished()) {
+				pool.release(p);
+				p = pool.acquire((int) dispatches, rand.nextInt(MAX_PROCESS_TIME) + 1, rand.nextInt(maxPriority) + 1);
+			}else {
+				p.resetWaitingTime();
+			}
+			queue.enqueue(p);
+		}
+
+		private void record(int inversion) {
+			dispatches++;
+			inversions.record(inversion);
+			if(inversion > 0) {
+				inverted++;
+				inversionSum += inversion;
+			}
+		}
+	}
+}